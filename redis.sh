@@ -13,7 +13,7 @@ loglevel debug
 requirepass pass@123
 masterauth  pass@123
 protected-mode no
-notify-keyspace-events Ex
+notify-keyspace-events Exg
 " >> $CONF_FILE
 
 # start server
@@ -0,0 +1,77 @@
+package com.github.jwxa.bench;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.jwxa.cache.HotKeyPinner;
+import com.github.jwxa.cache.LocalCacheFactory;
+import com.github.jwxa.config.CacheConfig;
+import com.github.jwxa.config.TwoLevelCacheProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * caffeineNativeCache get/put, built through the same LocalCacheFactory as the application (EXPIRE policy).
+ * 不依赖 Redis。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class CaffeineCacheBenchmark {
+
+    private static final int KEY_SPACE = 1000;
+
+    private LocalCacheFactory factory;
+    private Cache<Object, Object> cache;
+    private String[] keys;
+
+    @Setup
+    public void setUp() {
+        TwoLevelCacheProperties properties = new TwoLevelCacheProperties();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        factory = new LocalCacheFactory(null, properties, meterRegistry, new HotKeyPinner(properties, meterRegistry));
+        cache = factory.create(CacheConfig.DEMO_CACHE);
+        keys = new String[KEY_SPACE];
+        for (int i = 0; i < KEY_SPACE; i++) {
+            keys[i] = "key-" + i;
+            cache.put(keys[i], "value-" + i);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        factory.destroy();
+    }
+
+    @Benchmark
+    public Object getHit() {
+        return cache.getIfPresent(keys[ThreadLocalRandom.current().nextInt(KEY_SPACE)]);
+    }
+
+    @Benchmark
+    public Object getMiss() {
+        return cache.getIfPresent("absent-" + ThreadLocalRandom.current().nextInt(KEY_SPACE));
+    }
+
+    @Benchmark
+    public void put() {
+        int i = ThreadLocalRandom.current().nextInt(KEY_SPACE);
+        cache.put(keys[i], "value-" + i);
+    }
+}
@@ -0,0 +1,102 @@
+package com.github.jwxa.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.redisson.api.RBucket;
+import org.redisson.api.RClientSideCaching;
+import org.redisson.api.RMap;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.options.ClientSideCachingOptions;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * CSC RBucket local hit vs miss and RMap.get on scenario:csc-map.
+ * <p>
+ * 命中：反复读取同一个已缓存的 bucket；未命中：在远大于 CSC 容量的 key 空间里随机读取，LRU 下几乎每次都要访问 Redis。
+ * 需要 Redis，见 {@link RedisBenchmarkSupport}。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class ClientSideCachingBenchmark {
+
+    private static final String MAP_NAME = "scenario:csc-map";
+    private static final String HOT_BUCKET = "bench:csc-bucket:hot";
+    private static final int CSC_SIZE = 512;
+
+    @Param({"64", "1024"})
+    public int payloadSize;
+
+    private RedissonClient client;
+    private RClientSideCaching csc;
+    private RBucket<String> hotBucket;
+    private RBucket<String>[] coldBuckets;
+    private RMap<String, String> cscMap;
+    private int coldKeySpace;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        client = RedisBenchmarkSupport.createClient();
+        csc = client.getClientSideCaching(ClientSideCachingOptions.defaults()
+                .size(CSC_SIZE)
+                .timeToLive(Duration.ofMinutes(5))
+                .maxIdle(Duration.ofMinutes(2)));
+        String payload = "x".repeat(payloadSize);
+
+        hotBucket = csc.getBucket(HOT_BUCKET);
+        hotBucket.set(payload);
+        hotBucket.get();
+
+        coldKeySpace = CSC_SIZE * 20;
+        coldBuckets = new RBucket[coldKeySpace];
+        for (int i = 0; i < coldKeySpace; i++) {
+            coldBuckets[i] = csc.getBucket("bench:csc-bucket:cold:" + i);
+            client.getBucket("bench:csc-bucket:cold:" + i).set(payload);
+        }
+
+        cscMap = csc.getMap(MAP_NAME);
+        for (int i = 0; i < 100; i++) {
+            cscMap.put("bench-" + i, payload);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        csc.destroy();
+        client.shutdown();
+    }
+
+    @Benchmark
+    public String bucketLocalHit() {
+        return hotBucket.get();
+    }
+
+    @Benchmark
+    public String bucketMiss() {
+        return coldBuckets[ThreadLocalRandom.current().nextInt(coldKeySpace)].get();
+    }
+
+    @Benchmark
+    public String mapGet() {
+        return cscMap.get("bench-" + ThreadLocalRandom.current().nextInt(100));
+    }
+}
@@ -0,0 +1,150 @@
+package com.github.jwxa.bench;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.jwxa.cache.AccessTraceRecorder;
+import com.github.jwxa.cache.HotKeyPinner;
+import com.github.jwxa.cache.LocalCacheFactory;
+import com.github.jwxa.cache.TwoLevelCacheManager;
+import com.github.jwxa.config.AccessTraceProperties;
+import com.github.jwxa.config.CacheConfig;
+import com.github.jwxa.config.TwoLevelCacheProperties;
+import com.github.jwxa.service.DemoService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.redisson.api.RedissonClient;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DemoService.getData through the Spring cache proxy backed by the real TwoLevelCacheManager.
+ * <p>
+ * l1Hit 只访问 L1；l2Hit 每次先清掉本地条目，测的是 L1 未命中后从 Redis 读回的路径。需要 Redis。
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(4)
+public class DemoServiceBenchmark {
+
+    private static final int KEY_SPACE = 500;
+    private static final Duration L1_TTL = Duration.ofMinutes(10);
+
+    private AnnotationConfigApplicationContext context;
+    private DemoService demoService;
+    private Cache<Object, Object> localCache;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        context = new AnnotationConfigApplicationContext(BenchmarkCacheConfig.class, DemoService.class);
+        demoService = context.getBean(DemoService.class);
+        localCache = context.getBean("caffeineNativeCache", Cache.class);
+        for (int i = 0; i < KEY_SPACE; i++) {
+            demoService.getData("bench-" + i);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public String l1Hit() {
+        return demoService.getData("bench-" + ThreadLocalRandom.current().nextInt(KEY_SPACE));
+    }
+
+    @Benchmark
+    public String l2Hit() {
+        String key = "bench-" + ThreadLocalRandom.current().nextInt(KEY_SPACE);
+        localCache.invalidate(key);
+        return demoService.getData(key);
+    }
+
+    /**
+     * 与 CacheConfig 相同的装配方式，只是 RedissonClient 指向基准测试用的 Redis。
+     */
+    @Configuration
+    @EnableCaching
+    static class BenchmarkCacheConfig {
+
+        @Bean(destroyMethod = "shutdown")
+        public RedissonClient redissonClient() {
+            return RedisBenchmarkSupport.createClient();
+        }
+
+        @Bean
+        public MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        /**
+         * 默认的 10s L1 过期短于一次运行（预热 + 测量约 16s），l1Hit 后半段会退化成 L2 读取，这里放宽到远超运行时长。
+         */
+        @Bean
+        public TwoLevelCacheProperties twoLevelCacheProperties() {
+            TwoLevelCacheProperties properties = new TwoLevelCacheProperties();
+            properties.setLocalExpireAfterWrite(L1_TTL);
+            return properties;
+        }
+
+        @Bean
+        public HotKeyPinner hotKeyPinner(TwoLevelCacheProperties properties, MeterRegistry meterRegistry) {
+            return new HotKeyPinner(properties, meterRegistry);
+        }
+
+        @Bean
+        public AccessTraceRecorder accessTraceRecorder(MeterRegistry meterRegistry) {
+            return new AccessTraceRecorder(new AccessTraceProperties(), meterRegistry);
+        }
+
+        @Bean
+        public LocalCacheFactory localCacheFactory(RedissonClient redissonClient,
+                                                   TwoLevelCacheProperties properties,
+                                                   MeterRegistry meterRegistry,
+                                                   HotKeyPinner hotKeyPinner) {
+            return new LocalCacheFactory(redissonClient, properties, meterRegistry, hotKeyPinner);
+        }
+
+        @Bean
+        public Cache<Object, Object> caffeineNativeCache(LocalCacheFactory localCacheFactory) {
+            return localCacheFactory.create(CacheConfig.DEMO_CACHE);
+        }
+
+        @Bean
+        public CacheManager cacheManager(Cache<Object, Object> caffeineNativeCache,
+                                         RedissonClient redissonClient,
+                                         TwoLevelCacheProperties properties,
+                                         MeterRegistry meterRegistry,
+                                         LocalCacheFactory localCacheFactory,
+                                         HotKeyPinner hotKeyPinner,
+                                         AccessTraceRecorder accessTraceRecorder) {
+            TwoLevelCacheManager cacheManager = new TwoLevelCacheManager(redissonClient, properties,
+                    meterRegistry, localCacheFactory, hotKeyPinner, accessTraceRecorder);
+            cacheManager.registerLocalCache(CacheConfig.DEMO_CACHE, caffeineNativeCache);
+            return cacheManager;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.github.jwxa.bench;
+
+import org.redisson.Redisson;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.config.Config;
+import org.redisson.config.Protocol;
+
+/**
+ * Shared Redisson setup for benchmarks that need a Redis server.
+ * <p>
+ * 默认连接 docker-compose.yml 启动的单机 Redis（RESP3，CSC 需要 Redis 6+），可通过
+ * -Dbench.redis=redis://host:port 与 -Dbench.redis.password=xxx 覆盖；与应用一致使用 StringCodec。
+ */
+final class RedisBenchmarkSupport {
+
+    static final String ADDRESS = System.getProperty("bench.redis", "redis://127.0.0.1:16379");
+    static final String PASSWORD = System.getProperty("bench.redis.password");
+
+    private RedisBenchmarkSupport() {
+    }
+
+    static RedissonClient createClient() {
+        Config config = new Config();
+        config.setProtocol(Protocol.RESP3);
+        config.useSingleServer()
+                .setAddress(ADDRESS)
+                .setPassword(PASSWORD == null || PASSWORD.isEmpty() ? null : PASSWORD);
+        config.setCodec(new StringCodec());
+        return Redisson.create(config);
+    }
+}
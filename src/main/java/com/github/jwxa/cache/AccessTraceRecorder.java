@@ -0,0 +1,318 @@
+package com.github.jwxa.cache;
+
+import com.github.jwxa.config.AccessTraceProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * Samples cache reads into a rotating set of memory-mapped, fixed-width binary files.
+ * <p>
+ * 每条记录 {@value #RECORD_SIZE} 字节（大端）：
+ * <pre>
+ *  0  long  epochMillis   0 表示该位置尚未写入（切换文件时预留但未写完的记录），读取时跳过
+ *  8  long  keyHash       key 字符的 64 位 FNV-1a
+ * 16  int   valueSize     String 为字符数、byte[] 为字节数，未知为 -1
+ * 20  short source        {@link #source(String)} 分配的来源编号
+ * 22  byte  outcome       {@link Outcome#ordinal()}
+ * 23  byte  保留
+ * </pre>
+ * 热路径只做采样判断、一次 CAS 取位置和几次绝对位置写入，不分配对象；文件写满时由抢到切换的线程新建下一个文件，
+ * 其余线程丢弃这一条记录。未开启时 {@link #record} 直接返回；切换文件失败后停止记录，
+ * 避免写满的文件上游标持续递增直至溢出。
+ */
+@Slf4j
+public class AccessTraceRecorder implements DisposableBean {
+
+    public static final int RECORD_SIZE = 24;
+    private static final String FILE_PREFIX = "access-trace-";
+    private static final String FILE_SUFFIX = ".bin";
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    public enum Outcome {
+        L1_HIT, L2_HIT, MISS, UNKNOWN
+    }
+
+    /**
+     * 逐条读取轨迹时的回调，参数与记录字段一一对应。
+     */
+    @FunctionalInterface
+    public interface RecordVisitor {
+        void visit(long epochMillis, long keyHash, int valueSize, int source, Outcome outcome);
+    }
+
+    private final boolean enabled;
+    private final double sampleRate;
+    private final Path directory;
+    private final int recordsPerSegment;
+    private final int maxSegments;
+    private final Map<String, Integer> sourceIds = new ConcurrentHashMap<>();
+    private final List<String> sourceNames = new CopyOnWriteArrayList<>();
+    private final Deque<Path> segments = new ArrayDeque<>();
+    private final Counter recorded;
+    private final Counter dropped;
+    private volatile Segment current;
+    private volatile boolean halted;
+    private long nextSequence;
+
+    public AccessTraceRecorder(AccessTraceProperties properties, MeterRegistry meterRegistry) {
+        this.enabled = properties.isEnabled();
+        this.sampleRate = properties.getSampleRate();
+        this.directory = Path.of(properties.getDirectory());
+        this.recordsPerSegment = (int) Math.min(Integer.MAX_VALUE / RECORD_SIZE,
+                Math.max(1, properties.getSegmentSize().toBytes() / RECORD_SIZE));
+        this.maxSegments = Math.max(1, properties.getMaxSegments());
+        this.recorded = Counter.builder("cache.access.trace.records")
+                .description("Sampled cache reads written to the access trace")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("cache.access.trace.dropped")
+                .description("Sampled cache reads dropped while the trace file was rotating")
+                .register(meterRegistry);
+        if (enabled) {
+            try {
+                Files.createDirectories(directory);
+                for (Path path : listSegments()) {
+                    segments.addLast(path);
+                    nextSequence = Math.max(nextSequence, sequenceOf(path) + 1);
+                }
+                current = openSegment();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to open access trace directory " + directory, e);
+            }
+            log.info("[AccessTrace] recording to {} sampleRate={} recordsPerSegment={}",
+                    directory.toAbsolutePath(), sampleRate, recordsPerSegment);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * 为读路径分配来源编号，只应在初始化时调用一次并缓存返回值。
+     */
+    public int source(String name) {
+        return sourceIds.computeIfAbsent(name, key -> {
+            synchronized (sourceNames) {
+                sourceNames.add(key);
+                return sourceNames.size() - 1;
+            }
+        });
+    }
+
+    public List<String> sources() {
+        return List.copyOf(sourceNames);
+    }
+
+    public void record(int source, String key, Outcome outcome, int valueSize) {
+        if (!enabled || halted || (sampleRate < 1.0 && ThreadLocalRandom.current().nextDouble() >= sampleRate)) {
+            return;
+        }
+        Segment segment = current;
+        int index = segment.cursor.getAndIncrement();
+        while (index >= recordsPerSegment) {
+            // 只有恰好越界的那个线程负责切换，新文件可能在切换后又被迅速写满
+            if (index != recordsPerSegment || (segment = rotate(segment)) == null) {
+                dropped.increment();
+                return;
+            }
+            index = segment.cursor.getAndIncrement();
+        }
+        MappedByteBuffer buffer = segment.buffer;
+        int offset = index * RECORD_SIZE;
+        buffer.putLong(offset + 8, hash(key));
+        buffer.putInt(offset + 16, valueSize);
+        buffer.putShort(offset + 20, (short) source);
+        buffer.put(offset + 22, (byte) outcome.ordinal());
+        buffer.putLong(offset, System.currentTimeMillis());
+        recorded.increment();
+    }
+
+    /**
+     * 值的大小，只识别 String 与 byte[]，不做序列化。
+     */
+    public static int sizeOf(Object value) {
+        if (value instanceof String string) {
+            return string.length();
+        }
+        if (value instanceof byte[] bytes) {
+            return bytes.length;
+        }
+        return -1;
+    }
+
+    public static long hash(String key) {
+        long hash = FNV_OFFSET;
+        for (int i = 0; i < key.length(); i++) {
+            hash ^= key.charAt(i);
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * 按时间顺序（旧文件在前）输出全部已写入的记录，当前文件只输出已分配的部分。
+     */
+    public void export(OutputStream out) throws IOException {
+        if (!enabled) {
+            return;
+        }
+        Segment active = current;
+        active.buffer.force();
+        WritableByteChannel target = Channels.newChannel(out);
+        for (Path path : snapshotSegments()) {
+            long limit = path.equals(active.path)
+                    ? (long) Math.min(active.cursor.get(), recordsPerSegment) * RECORD_SIZE
+                    : Long.MAX_VALUE;
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                long length = Math.min(limit, channel.size());
+                long position = 0;
+                while (position < length) {
+                    position += channel.transferTo(position, length - position, target);
+                }
+            } catch (NoSuchFileException e) {
+                // 导出期间被轮转删除
+            }
+        }
+        out.flush();
+    }
+
+    /**
+     * 按时间顺序逐条读取已写入的记录，跳过未写完的位置。
+     */
+    public void forEachRecord(RecordVisitor visitor) throws IOException {
+        if (!enabled) {
+            return;
+        }
+        Segment active = current;
+        Outcome[] outcomes = Outcome.values();
+        ByteBuffer record = ByteBuffer.allocate(RECORD_SIZE);
+        for (Path path : snapshotSegments()) {
+            long limit = path.equals(active.path)
+                    ? (long) Math.min(active.cursor.get(), recordsPerSegment) * RECORD_SIZE
+                    : Long.MAX_VALUE;
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                long length = Math.min(limit, channel.size());
+                for (long position = 0; position + RECORD_SIZE <= length; position += RECORD_SIZE) {
+                    record.clear();
+                    while (record.hasRemaining() && channel.read(record, position + record.position()) > 0) {
+                        // 读满一条记录
+                    }
+                    long epochMillis = record.getLong(0);
+                    int outcome = record.get(22);
+                    if (epochMillis == 0 || outcome < 0 || outcome >= outcomes.length) {
+                        continue;
+                    }
+                    visitor.visit(epochMillis, record.getLong(8), record.getInt(16), record.getShort(20),
+                            outcomes[outcome]);
+                }
+            } catch (NoSuchFileException e) {
+                // 读取期间被轮转删除
+            }
+        }
+    }
+
+    @Override
+    public void destroy() {
+        Segment segment = current;
+        if (segment != null) {
+            segment.close();
+        }
+    }
+
+    private synchronized Segment rotate(Segment full) {
+        if (current != full) {
+            return current;
+        }
+        try {
+            Segment next = openSegment();
+            current = next;
+            full.close();
+            return next;
+        } catch (IOException e) {
+            halted = true;
+            log.warn("[AccessTrace] failed to rotate trace file, recording stopped: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private synchronized List<Path> snapshotSegments() {
+        return new ArrayList<>(segments);
+    }
+
+    private synchronized Segment openSegment() throws IOException {
+        Path path = directory.resolve(FILE_PREFIX + String.format("%06d", nextSequence++) + FILE_SUFFIX);
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            // 映射在 channel 关闭后依然有效
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0,
+                    (long) recordsPerSegment * RECORD_SIZE);
+            segments.addLast(path);
+            while (segments.size() > maxSegments) {
+                Files.deleteIfExists(segments.removeFirst());
+            }
+            return new Segment(path, buffer);
+        }
+    }
+
+    private List<Path> listSegments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> sequenceOf(path) >= 0)
+                    .sorted((a, b) -> Long.compare(sequenceOf(a), sequenceOf(b)))
+                    .toList();
+        }
+    }
+
+    private static long sequenceOf(Path path) {
+        String name = path.getFileName().toString();
+        if (!name.startsWith(FILE_PREFIX) || !name.endsWith(FILE_SUFFIX)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(name.substring(FILE_PREFIX.length(), name.length() - FILE_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static final class Segment {
+        private final Path path;
+        private final MappedByteBuffer buffer;
+        private final AtomicInteger cursor = new AtomicInteger();
+
+        private Segment(Path path, MappedByteBuffer buffer) {
+            this.path = path;
+            this.buffer = buffer;
+        }
+
+        private void close() {
+            // 切换后仍可能有线程在写已分配的位置，这里只刷盘，映射交给 GC 回收
+            buffer.force();
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.github.jwxa.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RMap;
+import org.redisson.api.listener.TrackingListener;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-field local tier over a CSC-tracked {@link RMap} that answers multi-key reads local-first.
+ * <p>
+ * CSC 按「命令 + 参数」缓存响应：单个 HGET 与一次 HMGET 各占一条缓存，无法知道哪些 field 已在本地，
+ * getAll 也只能整体命中或整体回源。这里在堆上按 field 缓存值，getAll 先取本地命中，
+ * 只把缺失的 field 经 CSC map 合成一次 HMGET 读回（同时让 Redis 继续跟踪该 hash），再回填本地。
+ * 失效与 {@link OffHeapNearCacheMap} 相同：收到 tracking 事件时清空整层，读取期间发生失效则不回填，
+ * 回填后再检查一次 epoch，失效恰好发生在检查与写入之间时撤销这次回填。
+ * 远端不存在的 field 不缓存。
+ */
+@Slf4j
+public class BulkNearCacheMap {
+
+    private final RMap<String, String> cscMap;
+    private final Cache<String, String> local;
+    private final Counter localHits;
+    private final Counter remoteFetches;
+    private final DistributionSummary fetchedPerRequest;
+    private final AtomicLong epoch = new AtomicLong();
+
+    public BulkNearCacheMap(RMap<String, String> cscMap, long maximumSize, Duration expireAfterWrite,
+                            MeterRegistry meterRegistry) {
+        this.cscMap = cscMap;
+        this.local = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .build();
+        String name = cscMap.getName();
+        this.localHits = Counter.builder("near-cache.bulk.local.hits")
+                .description("Fields answered from the local tier")
+                .tag("map", name)
+                .register(meterRegistry);
+        this.remoteFetches = Counter.builder("near-cache.bulk.remote.fetches")
+                .description("Fields fetched from Redis because they were missing locally")
+                .tag("map", name)
+                .register(meterRegistry);
+        this.fetchedPerRequest = DistributionSummary.builder("near-cache.bulk.fetched.per.request")
+                .description("Missing fields fetched by one HMGET")
+                .tag("map", name)
+                .register(meterRegistry);
+        cscMap.addListener((TrackingListener) changed -> {
+            epoch.incrementAndGet();
+            local.invalidateAll();
+            log.debug("[BulkNearCache] tracking event {} -> cleared local tier", changed);
+        });
+    }
+
+    public String get(String key) {
+        String value = local.getIfPresent(key);
+        if (value != null) {
+            localHits.increment();
+            return value;
+        }
+        remoteFetches.increment();
+        long observedEpoch = epoch.get();
+        value = cscMap.get(key);
+        if (value != null && epoch.get() == observedEpoch) {
+            local.put(key, value);
+            if (epoch.get() != observedEpoch) {
+                local.invalidate(key);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * 本地命中立即返回，缺失的 field 合并为一次 HMGET；结果不包含远端不存在的 field。
+     */
+    public Map<String, String> getAll(Collection<String> keys) {
+        Map<String, String> result = new HashMap<>(local.getAllPresent(keys));
+        localHits.increment(result.size());
+        Set<String> missing = new LinkedHashSet<>(keys);
+        missing.removeAll(result.keySet());
+        if (missing.isEmpty()) {
+            return result;
+        }
+        remoteFetches.increment(missing.size());
+        fetchedPerRequest.record(missing.size());
+        long observedEpoch = epoch.get();
+        Map<String, String> fetched = cscMap.getAll(missing);
+        if (epoch.get() == observedEpoch) {
+            local.putAll(fetched);
+            if (epoch.get() != observedEpoch) {
+                local.invalidateAll(fetched.keySet());
+            }
+        }
+        result.putAll(fetched);
+        return result;
+    }
+
+    public void put(String key, String value) {
+        cscMap.fastPut(key, value);
+        local.put(key, value);
+    }
+
+    public void remove(String key) {
+        cscMap.fastRemove(key);
+        local.invalidate(key);
+    }
+
+    /**
+     * 本地层已有的 field 数，不触发远程读取。
+     */
+    public int countLocal(Collection<String> keys) {
+        return local.getAllPresent(keys).size();
+    }
+
+    public void clearLocal() {
+        local.invalidateAll();
+    }
+
+    public String getName() {
+        return cscMap.getName();
+    }
+}
@@ -0,0 +1,11 @@
+package com.github.jwxa.cache;
+
+/**
+ * L1 invalidation broadcast between nodes. A {@code null} key means the whole cache was cleared.
+ */
+public record CacheInvalidationMessage(String origin, String cacheName, String key) {
+
+    public boolean isClear() {
+        return key == null;
+    }
+}
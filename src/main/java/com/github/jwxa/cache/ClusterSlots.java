@@ -0,0 +1,57 @@
+package com.github.jwxa.cache;
+
+import org.redisson.connection.CRC16;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Client-side Redis Cluster slot calculation.
+ * <p>
+ * 与服务端 CLUSTER KEYSLOT 的规则一致：key 中含非空的 {hashtag} 时只对 hashtag 计算 CRC16，再对 16384 取模。
+ * 本地计算避免为了分组而逐个 key 发 KEYSLOT 请求。
+ */
+public final class ClusterSlots {
+
+    public static final int SLOT_COUNT = 16384;
+
+    /**
+     * 每个区间至少含一个 slot 时，命中概率不低于 1/16384，该上限下找不到的概率可忽略
+     */
+    private static final int MAX_TAG_ATTEMPTS = 64 * SLOT_COUNT;
+
+    private ClusterSlots() {
+    }
+
+    public static int slotOf(String key) {
+        int start = key.indexOf('{');
+        if (start != -1) {
+            int end = key.indexOf('}', start + 1);
+            if (end > start + 1) {
+                key = key.substring(start + 1, end);
+            }
+        }
+        return CRC16.crc16(key.getBytes(StandardCharsets.UTF_8)) % SLOT_COUNT;
+    }
+
+    /**
+     * 为第 index 个分片（共 count 个）找一个 hashtag，使其 slot 落在 [index, index + 1) * 16384 / count 区间内，
+     * 分片因此均匀分布在整个 slot 空间上，按 slot 区间均分的集群中也就分散到不同 master。count 不能超过 {@value #SLOT_COUNT}。
+     */
+    public static String shardTag(String prefix, int index, int count) {
+        if (count <= 0 || count > SLOT_COUNT || index < 0 || index >= count) {
+            throw new IllegalArgumentException("shard index " + index + " of " + count
+                    + " is outside [0, count) or count is outside [1, " + SLOT_COUNT + "]");
+        }
+        int from = (int) ((long) index * SLOT_COUNT / count);
+        int to = (int) ((long) (index + 1) * SLOT_COUNT / count);
+        for (int attempt = 0; attempt < MAX_TAG_ATTEMPTS; attempt++) {
+            String tag = prefix + "#" + index + "-" + attempt;
+            int slot = slotOf(tag);
+            if (slot >= from && slot < to) {
+                return tag;
+            }
+        }
+        throw new IllegalStateException("no hashtag found for slots [" + from + ", " + to + ") after "
+                + MAX_TAG_ATTEMPTS + " attempts");
+    }
+}
@@ -0,0 +1,79 @@
+package com.github.jwxa.cache;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free Count-Min Sketch for approximate per-key frequencies.
+ * <p>
+ * depth 行、每行 width 个计数器，每个 key 在每行通过双重哈希选一个计数器累加，估计值取各行最小值，
+ * 只会高估不会低估。{@link #halve()} 把所有计数器减半，用于让频率随时间衰减。
+ */
+public final class CountMinSketch {
+
+    private final int depth;
+    private final int mask;
+    private final AtomicLongArray counters;
+
+    public CountMinSketch(int width, int depth) {
+        if (width <= 0 || Integer.bitCount(width) != 1) {
+            throw new IllegalArgumentException("width must be a positive power of two");
+        }
+        if (depth <= 0) {
+            throw new IllegalArgumentException("depth must be positive");
+        }
+        this.depth = depth;
+        this.mask = width - 1;
+        this.counters = new AtomicLongArray(width * depth);
+    }
+
+    /**
+     * 计数加一并返回加一后的估计值。
+     */
+    public long increment(Object key) {
+        int h1 = spread(key.hashCode());
+        int h2 = rehash(h1);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            long count = counters.incrementAndGet(index(row, h1, h2));
+            estimate = Math.min(estimate, count);
+        }
+        return estimate;
+    }
+
+    public long estimate(Object key) {
+        int h1 = spread(key.hashCode());
+        int h2 = rehash(h1);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counters.get(index(row, h1, h2)));
+        }
+        return estimate;
+    }
+
+    public void halve() {
+        for (int i = 0; i < counters.length(); i++) {
+            long current;
+            do {
+                current = counters.get(i);
+            } while (!counters.compareAndSet(i, current, current >>> 1));
+        }
+    }
+
+    private int index(int row, int h1, int h2) {
+        return row * (mask + 1) + ((h1 + row * h2) & mask);
+    }
+
+    private static int spread(int h) {
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        return h;
+    }
+
+    private static int rehash(int h) {
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        // 保证为奇数，各行落点不会重合
+        return h | 1;
+    }
+}
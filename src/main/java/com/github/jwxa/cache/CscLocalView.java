@@ -0,0 +1,84 @@
+package com.github.jwxa.cache;
+
+import io.netty.buffer.ByteBuf;
+import org.redisson.api.RClientSideCaching;
+import org.redisson.api.RFuture;
+import org.redisson.api.RMap;
+import org.redisson.cache.CacheKeyParams;
+import org.redisson.client.protocol.RedisCommands;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Read-only view of the entries a CSC map already holds locally.
+ * <p>
+ * Redisson 没有公开 CSC 本地缓存的内容，经 map 读取又会在未命中时访问 Redis 并写入本地。
+ * 这里直接查 {@link RClientSideCaching} 内部以命令参数为 key 的缓存：按 {@code RedissonMap#get} 发出 HGET 的参数
+ * （map 名、codec、命令、map 名 + 编码后的 field）构造 {@link CacheKeyParams}，只读取已完成的结果，不会填充本地缓存。
+ * 依赖 Redisson 3.x 内部结构，拿不到内部缓存时 {@link #available()} 为 false。
+ */
+public class CscLocalView {
+
+    private final RMap<String, String> cscMap;
+    private final Map<CacheKeyParams, Object> cache;
+
+    public CscLocalView(RClientSideCaching clientSideCaching, RMap<String, String> cscMap) {
+        this.cscMap = cscMap;
+        this.cache = localCache(clientSideCaching);
+    }
+
+    public boolean available() {
+        return cache != null;
+    }
+
+    /**
+     * @return 本地已缓存的值（值本身可能为 null，表示缓存了「不存在」），本地没有该 key 时返回 null
+     */
+    public LocalEntry peek(String key) {
+        if (cache == null) {
+            return null;
+        }
+        Object cached = cache.get(keyParams(key));
+        if (!(cached instanceof RFuture<?> future)) {
+            return null;
+        }
+        CompletableFuture<?> result = future.toCompletableFuture();
+        if (!result.isDone() || result.isCompletedExceptionally()) {
+            return null;
+        }
+        return new LocalEntry((String) result.getNow(null));
+    }
+
+    private CacheKeyParams keyParams(String key) {
+        String name = cscMap.getName();
+        ByteBuf encoded;
+        try {
+            encoded = cscMap.getCodec().getMapKeyEncoder().encode(key);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("failed to encode map key " + key, e);
+        }
+        try {
+            // CacheKeyParams 构造时把 ByteBuf 转成哈希，之后即可释放
+            return new CacheKeyParams(new Object[]{name, cscMap.getCodec(), RedisCommands.HGET, new Object[]{name, encoded}});
+        } finally {
+            encoded.release();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<CacheKeyParams, Object> localCache(RClientSideCaching clientSideCaching) {
+        try {
+            Field field = clientSideCaching.getClass().getDeclaredField("cache");
+            field.setAccessible(true);
+            return (Map<CacheKeyParams, Object>) field.get(clientSideCaching);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    public record LocalEntry(String value) {
+    }
+}
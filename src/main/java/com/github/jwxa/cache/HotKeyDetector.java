@@ -0,0 +1,76 @@
+package com.github.jwxa.cache;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Tracks the heaviest keys of one cache with a Count-Min Sketch plus a small top-K candidate set.
+ * <p>
+ * 每次读取先在 sketch 中计数；候选集未满时直接加入，满了之后只有估计值超过当前最小候选的 key 才会替换掉它。
+ * 热路径上绝大多数 key 只做 sketch 自增和一次 map 查询，只有可能进入 top-K 的 key 才会加锁。
+ * {@link #decay()} 定期把 sketch 与候选计数减半，热点变化后旧的热 key 会逐渐被挤出。
+ */
+public class HotKeyDetector {
+
+    private final CountMinSketch sketch;
+    private final int capacity;
+    private final Map<Object, Long> candidates = new ConcurrentHashMap<>();
+    private volatile long admissionFloor;
+
+    public HotKeyDetector(int capacity, int sketchWidth, int sketchDepth) {
+        this.capacity = capacity;
+        this.sketch = new CountMinSketch(sketchWidth, sketchDepth);
+    }
+
+    public void record(Object key) {
+        long estimate = sketch.increment(key);
+        if (candidates.replace(key, estimate) != null) {
+            return;
+        }
+        if (candidates.size() >= capacity && estimate <= admissionFloor) {
+            return;
+        }
+        admit(key, estimate);
+    }
+
+    /**
+     * 按估计次数从高到低返回最多 limit 个 key。
+     */
+    public List<HotKey> topKeys(int limit) {
+        List<HotKey> keys = new ArrayList<>(candidates.size());
+        candidates.forEach((key, count) -> keys.add(new HotKey(key, count)));
+        keys.sort(Comparator.comparingLong(HotKey::estimatedCount).reversed());
+        return keys.size() > limit ? keys.subList(0, limit) : keys;
+    }
+
+    public synchronized void decay() {
+        sketch.halve();
+        candidates.replaceAll((key, count) -> count >>> 1);
+        admissionFloor >>>= 1;
+    }
+
+    private synchronized void admit(Object key, long estimate) {
+        candidates.put(key, estimate);
+        while (candidates.size() > capacity) {
+            Map.Entry<Object, Long> min = minCandidate();
+            candidates.remove(min.getKey());
+        }
+        admissionFloor = candidates.size() >= capacity ? minCandidate().getValue() : 0;
+    }
+
+    private Map.Entry<Object, Long> minCandidate() {
+        Map.Entry<Object, Long> min = null;
+        for (Map.Entry<Object, Long> entry : candidates.entrySet()) {
+            if (min == null || entry.getValue() < min.getValue()) {
+                min = entry;
+            }
+        }
+        return min;
+    }
+
+    public record HotKey(Object key, long estimatedCount) {
+    }
+}
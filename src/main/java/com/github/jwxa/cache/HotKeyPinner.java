@@ -0,0 +1,157 @@
+package com.github.jwxa.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.jwxa.config.TwoLevelCacheProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Keeps the hottest keys of each two-level cache pinned in L1 and refreshes them ahead of time.
+ * <p>
+ * 钉住依赖 Caffeine 的权重淘汰：开启后 L1 使用 maximumWeight，权重为 0 的条目不参与容量淘汰，
+ * 由 {@link LocalCacheFactory} 的 weigher 根据 {@link #pinnedKeys} 决定权重（钉住为 0，否则为 1）。
+ * 权重只在写入时计算，所以每轮先从 L2 重新加载热 key 写回 L1（同时完成 refresh-ahead，刷新写入时间），
+ * 被移出热点的 key 原值写回一次恢复权重 1。钉住的条目仍然会被失效广播、keyspace 事件正常清除。
+ * 刷新在 {@code asMap().compute} 内读取 L2，同 key 的并发失效会等刷新结束后再执行，不会被刷新读到的旧值覆盖。
+ */
+@Slf4j
+public class HotKeyPinner implements DisposableBean {
+
+    private final TwoLevelCacheProperties.HotKeys properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, HotKeyDetector> detectors = new ConcurrentHashMap<>();
+    private final Map<String, Set<Object>> pinned = new ConcurrentHashMap<>();
+    private final Map<String, PinnedCache> caches = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler;
+
+    public HotKeyPinner(TwoLevelCacheProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties.getHotKeys();
+        this.meterRegistry = meterRegistry;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "hotkey-pinner");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (this.properties.isEnabled()) {
+            long refresh = this.properties.getRefreshInterval().toMillis();
+            long decay = this.properties.getDecayInterval().toMillis();
+            scheduler.scheduleWithFixedDelay(this::refreshPins, refresh, refresh, TimeUnit.MILLISECONDS);
+            scheduler.scheduleWithFixedDelay(this::decay, decay, decay, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * 未开启时返回 null，调用方据此跳过计数。
+     */
+    public HotKeyDetector detector(String cacheName) {
+        if (!properties.isEnabled()) {
+            return null;
+        }
+        return detectors.computeIfAbsent(cacheName, name ->
+                new HotKeyDetector(properties.getTopK(), properties.getSketchWidth(), properties.getSketchDepth()));
+    }
+
+    public Set<Object> pinnedKeys(String cacheName) {
+        return pinned.computeIfAbsent(cacheName, name -> {
+            Set<Object> keys = ConcurrentHashMap.newKeySet();
+            Gauge.builder("cache.hotkeys.pinned", keys, Set::size)
+                    .description("Keys pinned in L1 because they are among the hottest")
+                    .tag("cache", name)
+                    .register(meterRegistry);
+            return keys;
+        });
+    }
+
+    /**
+     * 由 {@link TwoLevelCacheManager} 在创建 cache 时登记 L1 与 L2 读取方式。
+     */
+    void register(String cacheName, Cache<Object, Object> localCache, Function<Object, Object> remoteLoader) {
+        if (properties.isEnabled()) {
+            caches.put(cacheName, new PinnedCache(localCache, remoteLoader));
+        }
+    }
+
+    /**
+     * 各 cache 当前的热 key 及是否已钉住，供 actuator 端点展示。
+     */
+    public Map<String, List<Map<String, Object>>> snapshot() {
+        Map<String, List<Map<String, Object>>> result = new LinkedHashMap<>();
+        detectors.forEach((cacheName, detector) -> {
+            Set<Object> pinnedKeys = pinnedKeys(cacheName);
+            result.put(cacheName, detector.topKeys(properties.getTopK()).stream()
+                    .map(hotKey -> Map.<String, Object>of(
+                            "key", String.valueOf(hotKey.key()),
+                            "estimatedCount", hotKey.estimatedCount(),
+                            "pinned", pinnedKeys.contains(hotKey.key())))
+                    .toList());
+        });
+        return result;
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.shutdownNow();
+    }
+
+    private void refreshPins() {
+        caches.forEach((cacheName, cache) -> {
+            try {
+                refreshPins(cacheName, cache);
+            } catch (Exception e) {
+                log.warn("[HotKeyPinner] refresh failed for cache={}: {}", cacheName, e.getMessage());
+            }
+        });
+    }
+
+    private void refreshPins(String cacheName, PinnedCache cache) {
+        Set<Object> target = new HashSet<>();
+        for (HotKeyDetector.HotKey hotKey : detectors.get(cacheName).topKeys(properties.getPinCount())) {
+            if (hotKey.estimatedCount() >= properties.getMinPinCount()) {
+                target.add(hotKey.key());
+            }
+        }
+        Set<Object> pinnedKeys = pinnedKeys(cacheName);
+        for (Object key : Set.copyOf(pinnedKeys)) {
+            if (!target.contains(key)) {
+                pinnedKeys.remove(key);
+                // 原值写回一次，让 weigher 重新计算为 1，重新参与淘汰
+                cache.localCache().asMap().computeIfPresent(key, (k, v) -> v);
+            }
+        }
+        for (Object key : target) {
+            pinnedKeys.add(key);
+            // L2 已没有该 key 时返回 null，条目随之移除
+            Object value = cache.localCache().asMap().compute(key, (k, v) -> cache.remoteLoader().apply(k));
+            if (value == null) {
+                pinnedKeys.remove(key);
+            }
+        }
+        if (!target.isEmpty()) {
+            log.debug("[HotKeyPinner] cache={} pinned {}", cacheName, pinnedKeys);
+        }
+    }
+
+    private void decay() {
+        detectors.values().forEach(HotKeyDetector::decay);
+    }
+
+    private record PinnedCache(Cache<Object, Object> localCache, Function<Object, Object> remoteLoader) {
+    }
+}
@@ -0,0 +1,136 @@
+package com.github.jwxa.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.jwxa.config.TwoLevelCacheProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.Codec;
+import org.redisson.codec.JsonJacksonCodec;
+import org.springframework.beans.factory.DisposableBean;
+
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Builds the Caffeine L1 for each cache name according to its {@link TwoLevelCacheProperties.LocalCachePolicy}.
+ * <p>
+ * REFRESH 模式下 L1 是一个 LoadingCache：条目超过 refreshAfterWrite 后，下一次读取会立即返回旧值，
+ * 同时在有界线程池里异步从 L2 重新加载；线程池满时放弃本次刷新并继续使用旧值。
+ */
+@Slf4j
+public class LocalCacheFactory implements DisposableBean {
+
+    private final RedissonClient redissonClient;
+    private final TwoLevelCacheProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Codec remoteCodec = new JsonJacksonCodec();
+    private final ThreadPoolExecutor refreshExecutor;
+    private final HotKeyPinner hotKeyPinner;
+
+    public LocalCacheFactory(RedissonClient redissonClient,
+                             TwoLevelCacheProperties properties,
+                             MeterRegistry meterRegistry,
+                             HotKeyPinner hotKeyPinner) {
+        this.redissonClient = redissonClient;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.hotKeyPinner = hotKeyPinner;
+        TwoLevelCacheProperties.RefreshExecutor executorConfig = properties.getRefreshExecutor();
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.refreshExecutor = new ThreadPoolExecutor(
+                executorConfig.getThreads(),
+                executorConfig.getThreads(),
+                60, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(executorConfig.getQueueCapacity()),
+                r -> {
+                    Thread thread = new Thread(r, "l1-refresh-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    public Cache<Object, Object> create(String cacheName) {
+        TwoLevelCacheProperties.LocalCachePolicy policy = properties.policyFor(cacheName);
+        Caffeine<Object, Object> builder = Caffeine.newBuilder()
+                .expireAfterWrite(policy.getExpireAfterWrite())
+                .recordStats();
+        if (hotKeyPinner.isEnabled()) {
+            // 钉住的热 key 权重为 0，不计入容量也不会被淘汰，其余条目权重为 1，等价于 maximumSize
+            Set<Object> pinnedKeys = hotKeyPinner.pinnedKeys(cacheName);
+            builder.maximumWeight(policy.getMaximumSize())
+                    .weigher((key, value) -> pinnedKeys.contains(key) ? 0 : 1);
+        } else {
+            builder.maximumSize(policy.getMaximumSize());
+        }
+        if (policy.getMode() != TwoLevelCacheProperties.LocalCacheMode.REFRESH) {
+            return builder.build();
+        }
+        log.info("[LocalCacheFactory] cache={} uses refresh-ahead refreshAfterWrite={} expireAfterWrite={}",
+                cacheName, policy.getRefreshAfterWrite(), policy.getExpireAfterWrite());
+        return builder
+                .refreshAfterWrite(policy.getRefreshAfterWrite())
+                .executor(refreshExecutor)
+                .build(new RemoteReloader(cacheName));
+    }
+
+    public Codec remoteCodec() {
+        return remoteCodec;
+    }
+
+    @Override
+    public void destroy() {
+        refreshExecutor.shutdownNow();
+    }
+
+    /**
+     * 从 L2 读取最新值；L2 中已不存在时返回 null，Caffeine 会随之移除 L1 条目。
+     */
+    private class RemoteReloader implements CacheLoader<Object, Object> {
+
+        private final String cacheName;
+        private final Counter reloads;
+        private final Counter rejected;
+
+        RemoteReloader(String cacheName) {
+            this.cacheName = cacheName;
+            this.reloads = Counter.builder("cache.refresh.reloads")
+                    .description("Asynchronous L1 reloads from L2")
+                    .tag("cache", cacheName)
+                    .register(meterRegistry);
+            this.rejected = Counter.builder("cache.refresh.rejected")
+                    .description("L1 reloads skipped because the refresh executor was saturated")
+                    .tag("cache", cacheName)
+                    .register(meterRegistry);
+        }
+
+        @Override
+        public Object load(Object key) {
+            return redissonClient.getBucket(TwoLevelCache.remoteKey(cacheName, String.valueOf(key)), remoteCodec).get();
+        }
+
+        @Override
+        public CompletableFuture<Object> asyncReload(Object key, Object oldValue, Executor executor) {
+            try {
+                return CompletableFuture.supplyAsync(() -> {
+                    reloads.increment();
+                    return load(key);
+                }, executor);
+            } catch (RejectedExecutionException e) {
+                // 以失败结束本次刷新：保留旧值但不重置写入时间，expireAfterWrite 的硬上限仍然生效
+                rejected.increment();
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.github.jwxa.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RMap;
+import org.redisson.api.listener.TrackingListener;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Remembers keys that are absent from a CSC-tracked {@link RMap} so repeated lookups skip the round-trip.
+ * <p>
+ * CSC 只缓存存在的值，读到 null 每次都会回源。这里把远端不存在的 key 记为一个本地标记（短 TTL、有容量上限），
+ * 之后的读取直接返回 null。读取 field 时 Redis 已经开始跟踪整个 hash，key 被其他节点创建时会收到 tracking 通知，
+ * 与 {@link OffHeapNearCacheMap} 一样按 map 维度清空全部标记；TTL 兜底通知丢失（如断线重连）的情况。
+ * 远程读取期间如果发生了失效（epoch 变化），读到的 null 不再记为标记，避免把刚创建的 key 记成不存在；
+ * 写入标记后再检查一次 epoch，失效恰好发生在检查与写入之间时撤销该标记（监听器先递增 epoch 再清空）。
+ */
+@Slf4j
+public class NegativeNearCacheMap {
+
+    private static final Boolean ABSENT = Boolean.TRUE;
+
+    private final RMap<String, String> cscMap;
+    private final Cache<String, Boolean> absentKeys;
+    private final Counter negativeHits;
+    private final Counter negativeMisses;
+    private final Counter invalidations;
+    private final AtomicLong epoch = new AtomicLong();
+
+    public NegativeNearCacheMap(RMap<String, String> cscMap, Duration ttl, long maximumSize, MeterRegistry meterRegistry) {
+        this.cscMap = cscMap;
+        this.absentKeys = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maximumSize)
+                .build();
+        String name = cscMap.getName();
+        this.negativeHits = Counter.builder("near-cache.negative.hits")
+                .description("Lookups answered by a local absent-key marker")
+                .tag("map", name)
+                .register(meterRegistry);
+        this.negativeMisses = Counter.builder("near-cache.negative.misses")
+                .description("Lookups that went to Redis and found the key absent")
+                .tag("map", name)
+                .register(meterRegistry);
+        this.invalidations = Counter.builder("near-cache.negative.invalidations").tag("map", name).register(meterRegistry);
+        Gauge.builder("near-cache.negative.entries", absentKeys, Cache::estimatedSize).tag("map", name).register(meterRegistry);
+        cscMap.addListener((TrackingListener) changed -> {
+            invalidations.increment();
+            epoch.incrementAndGet();
+            absentKeys.invalidateAll();
+            log.debug("[NegativeNearCache] tracking event {} -> cleared absent-key markers", changed);
+        });
+    }
+
+    public String get(String key) {
+        if (absentKeys.getIfPresent(key) != null) {
+            negativeHits.increment();
+            return null;
+        }
+        long observedEpoch = epoch.get();
+        String value = cscMap.get(key);
+        if (value == null) {
+            negativeMisses.increment();
+            if (epoch.get() == observedEpoch) {
+                absentKeys.put(key, ABSENT);
+                if (epoch.get() != observedEpoch) {
+                    absentKeys.invalidate(key);
+                }
+            }
+        }
+        return value;
+    }
+
+    public void put(String key, String value) {
+        cscMap.put(key, value);
+        absentKeys.invalidate(key);
+    }
+
+    public void remove(String key) {
+        cscMap.remove(key);
+        absentKeys.invalidate(key);
+    }
+
+    /**
+     * 是否已记为不存在，不触发远程读取。
+     */
+    public boolean isMarkedAbsent(String key) {
+        return absentKeys.getIfPresent(key) != null;
+    }
+
+    public long markedAbsentCount() {
+        return absentKeys.estimatedSize();
+    }
+
+    public String getName() {
+        return cscMap.getName();
+    }
+}
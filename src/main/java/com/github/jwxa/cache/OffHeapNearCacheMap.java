@@ -0,0 +1,104 @@
+package com.github.jwxa.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RMap;
+import org.redisson.api.listener.TrackingListener;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Off-heap tier in front of a CSC-tracked {@link RMap}.
+ * <p>
+ * 读路径：off-heap 命中直接返回；未命中时经由 CSC map 读取（同时让 Redis 继续跟踪该 key），再写入 off-heap。
+ * CSC 对 RMap 的失效通知是整张 map 维度的，所以收到 tracking 事件时清空该 map 在 off-heap 中的全部数据，
+ * 与 CSC 自身的语义保持一致。CSC 的堆上缓存仍受其 size 限制，大量长尾数据只占用直接内存。
+ * 远程读取期间如果发生了失效（epoch 变化），读到的值不再回填，避免把旧值写进已清空的 off-heap 层；
+ * 回填后再检查一次 epoch，失效恰好发生在检查与写入之间时撤销这次回填（监听器先递增 epoch 再清空）。
+ */
+@Slf4j
+public class OffHeapNearCacheMap {
+
+    private final RMap<String, String> cscMap;
+    private final OffHeapStore store;
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter invalidations;
+    private final Counter rejected;
+    private final AtomicLong epoch = new AtomicLong();
+
+    public OffHeapNearCacheMap(RMap<String, String> cscMap, OffHeapStore store, MeterRegistry meterRegistry) {
+        this.cscMap = cscMap;
+        this.store = store;
+        String name = cscMap.getName();
+        this.hits = Counter.builder("near-cache.offheap.hits").tag("map", name).register(meterRegistry);
+        this.misses = Counter.builder("near-cache.offheap.misses").tag("map", name).register(meterRegistry);
+        this.invalidations = Counter.builder("near-cache.offheap.invalidations").tag("map", name).register(meterRegistry);
+        this.rejected = Counter.builder("near-cache.offheap.rejected")
+                .description("Values larger than one off-heap segment")
+                .tag("map", name)
+                .register(meterRegistry);
+        Gauge.builder("near-cache.offheap.entries", store, OffHeapStore::size).tag("map", name).register(meterRegistry);
+        Gauge.builder("near-cache.offheap.used.bytes", store, OffHeapStore::usedBytes).tag("map", name).register(meterRegistry);
+        Gauge.builder("near-cache.offheap.overwritten", store, OffHeapStore::overwrittenEntries).tag("map", name).register(meterRegistry);
+        cscMap.addListener((TrackingListener) changed -> {
+            invalidations.increment();
+            epoch.incrementAndGet();
+            store.clear();
+            log.debug("[OffHeapNearCache] tracking event {} -> cleared off-heap tier", changed);
+        });
+    }
+
+    public String get(String key) {
+        byte[] bytes = store.get(key);
+        if (bytes != null) {
+            hits.increment();
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+        misses.increment();
+        long observedEpoch = epoch.get();
+        String value = cscMap.get(key);
+        if (value != null && epoch.get() == observedEpoch) {
+            cache(key, value);
+            if (epoch.get() != observedEpoch) {
+                store.remove(key);
+            }
+        }
+        return value;
+    }
+
+    public void put(String key, String value) {
+        cscMap.put(key, value);
+        cache(key, value);
+    }
+
+    public void remove(String key) {
+        cscMap.remove(key);
+        store.remove(key);
+    }
+
+    /**
+     * 只读本地 off-heap 层，不触发远程读取。
+     */
+    public String peekLocal(String key) {
+        byte[] bytes = store.get(key);
+        return bytes == null ? null : new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    public OffHeapStore store() {
+        return store;
+    }
+
+    public String getName() {
+        return cscMap.getName();
+    }
+
+    private void cache(String key, String value) {
+        if (!store.put(key, value.getBytes(StandardCharsets.UTF_8))) {
+            rejected.increment();
+        }
+    }
+}
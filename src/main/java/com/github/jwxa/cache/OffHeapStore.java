@@ -0,0 +1,194 @@
+package com.github.jwxa.cache;
+
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Byte store that keeps values in direct ByteBuffers outside the GC-managed heap.
+ * <p>
+ * 按 key 的 hash 分成若干段，每段是一块环形的直接内存：写入总是追加在写指针处，绕回时覆盖最旧的数据（FIFO 淘汰）。
+ * 堆上只保留 key -> 绝对写入位置 的索引；位置落后写指针超过一圈即视为已被覆盖。
+ * 每条记录格式：[int keyHash][int length][bytes]，单条记录不会跨越段尾。
+ * 直接内存受 -XX:MaxDirectMemorySize 限制，默认等于最大堆。
+ */
+public class OffHeapStore {
+
+    private static final int HEADER_BYTES = 8;
+
+    private final Segment[] segments;
+    private final long capacityBytes;
+
+    public OffHeapStore(long capacityBytes, int segmentCount) {
+        if (segmentCount <= 0 || Integer.bitCount(segmentCount) != 1) {
+            throw new IllegalArgumentException("segmentCount must be a positive power of two");
+        }
+        long perSegment = capacityBytes / segmentCount;
+        if (perSegment <= HEADER_BYTES || perSegment > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("capacity per segment must be within (8, 2GB], got " + perSegment);
+        }
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment((int) perSegment);
+        }
+        this.capacityBytes = perSegment * segmentCount;
+    }
+
+    public byte[] get(String key) {
+        return segmentFor(key).get(key);
+    }
+
+    /**
+     * @return false 表示值比单段容量还大，未写入
+     */
+    public boolean put(String key, byte[] value) {
+        return segmentFor(key).put(key, value);
+    }
+
+    public void remove(String key) {
+        segmentFor(key).remove(key);
+    }
+
+    public void clear() {
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    public long size() {
+        long size = 0;
+        for (Segment segment : segments) {
+            size += segment.size();
+        }
+        return size;
+    }
+
+    public long usedBytes() {
+        long used = 0;
+        for (Segment segment : segments) {
+            used += segment.usedBytes();
+        }
+        return used;
+    }
+
+    public long overwrittenEntries() {
+        long overwritten = 0;
+        for (Segment segment : segments) {
+            overwritten += segment.overwritten();
+        }
+        return overwritten;
+    }
+
+    public long capacityBytes() {
+        return capacityBytes;
+    }
+
+    private Segment segmentFor(String key) {
+        int h = key.hashCode();
+        h ^= (h >>> 16);
+        return segments[h & (segments.length - 1)];
+    }
+
+    private static final class Segment {
+
+        private final ByteBuffer buffer;
+        private final int capacity;
+        private final Map<String, Long> index = new HashMap<>();
+        private long writePos;
+        private long clearedAt;
+        private long lastSweepLap;
+        private long overwritten;
+
+        Segment(int capacity) {
+            this.capacity = capacity;
+            this.buffer = ByteBuffer.allocateDirect(capacity);
+        }
+
+        synchronized byte[] get(String key) {
+            Long pos = index.get(key);
+            if (pos == null) {
+                return null;
+            }
+            if (isOverwritten(pos)) {
+                index.remove(key);
+                overwritten++;
+                return null;
+            }
+            int offset = (int) (pos % capacity);
+            if (buffer.getInt(offset) != key.hashCode()) {
+                index.remove(key);
+                return null;
+            }
+            byte[] value = new byte[buffer.getInt(offset + 4)];
+            buffer.get(offset + HEADER_BYTES, value);
+            return value;
+        }
+
+        synchronized boolean put(String key, byte[] value) {
+            int required = HEADER_BYTES + value.length;
+            if (required > capacity) {
+                index.remove(key);
+                return false;
+            }
+            int offset = (int) (writePos % capacity);
+            if (offset + required > capacity) {
+                // 段尾剩余空间不足，跳到下一圈的开头
+                writePos += capacity - offset;
+                offset = 0;
+            }
+            buffer.putInt(offset, key.hashCode());
+            buffer.putInt(offset + 4, value.length);
+            buffer.put(offset + HEADER_BYTES, value);
+            index.put(key, writePos);
+            writePos += required;
+            sweepIfLapped();
+            return true;
+        }
+
+        synchronized void remove(String key) {
+            index.remove(key);
+        }
+
+        synchronized void clear() {
+            index.clear();
+            // 直接推进一整圈，让旧位置全部失效
+            writePos += capacity;
+            clearedAt = writePos;
+        }
+
+        synchronized int size() {
+            return index.size();
+        }
+
+        synchronized long overwritten() {
+            return overwritten;
+        }
+
+        synchronized long usedBytes() {
+            return Math.min(writePos - clearedAt, capacity);
+        }
+
+        private boolean isOverwritten(long pos) {
+            return pos < writePos - capacity;
+        }
+
+        /**
+         * 每绕一圈清理一次索引里已被覆盖的 key，防止堆上索引无限增长。
+         */
+        private void sweepIfLapped() {
+            long lap = writePos / capacity;
+            if (lap == lastSweepLap) {
+                return;
+            }
+            lastSweepLap = lap;
+            Iterator<Map.Entry<String, Long>> iterator = index.entrySet().iterator();
+            while (iterator.hasNext()) {
+                if (isOverwritten(iterator.next().getValue())) {
+                    iterator.remove();
+                    overwritten++;
+                }
+            }
+        }
+    }
+}
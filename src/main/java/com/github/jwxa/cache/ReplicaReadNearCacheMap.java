@@ -0,0 +1,71 @@
+package com.github.jwxa.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.redisson.api.RMap;
+
+import java.util.function.BooleanSupplier;
+
+/**
+ * Serves CSC reads from a replica-reading client while replication lag is within bounds.
+ * <p>
+ * 同名的两个 CSC map：masterMap 建在只读 master 的客户端上，replicaMap 建在读副本的客户端上，各自维护本地缓存与 tracking。
+ * replicasUsable 为 true 时读 replicaMap，本地未命中的读取落到副本；否则回退到 masterMap。写入始终经 masterMap。
+ * 副本上的 CSC 本地缓存在副本应用复制流时收到失效通知，因此额外的不一致时间不超过复制延迟，由 replicasUsable 限定上界。
+ */
+public class ReplicaReadNearCacheMap {
+
+    private final RMap<String, String> masterMap;
+    private final RMap<String, String> replicaMap;
+    private final BooleanSupplier replicasUsable;
+    private final Counter replicaReads;
+    private final Counter masterReads;
+
+    public ReplicaReadNearCacheMap(RMap<String, String> masterMap,
+                                   RMap<String, String> replicaMap,
+                                   BooleanSupplier replicasUsable,
+                                   MeterRegistry meterRegistry) {
+        this.masterMap = masterMap;
+        this.replicaMap = replicaMap;
+        this.replicasUsable = replicasUsable;
+        String name = masterMap.getName();
+        this.replicaReads = Counter.builder("near-cache.replica-read.reads")
+                .description("CSC reads routed by the replication lag guard")
+                .tag("map", name)
+                .tag("target", "replica")
+                .register(meterRegistry);
+        this.masterReads = Counter.builder("near-cache.replica-read.reads")
+                .description("CSC reads routed by the replication lag guard")
+                .tag("map", name)
+                .tag("target", "master")
+                .register(meterRegistry);
+    }
+
+    public String get(String key) {
+        if (replicasUsable.getAsBoolean()) {
+            replicaReads.increment();
+            return replicaMap.get(key);
+        }
+        masterReads.increment();
+        return masterMap.get(key);
+    }
+
+    public void put(String key, String value) {
+        masterMap.put(key, value);
+    }
+
+    public void remove(String key) {
+        masterMap.remove(key);
+    }
+
+    /**
+     * 当前读取是否会分流到副本。
+     */
+    public boolean readsFromReplica() {
+        return replicasUsable.getAsBoolean();
+    }
+
+    public String getName() {
+        return masterMap.getName();
+    }
+}
@@ -0,0 +1,88 @@
+package com.github.jwxa.cache;
+
+import org.redisson.api.RClientSideCaching;
+import org.redisson.api.RMap;
+import org.redisson.api.listener.TrackingListener;
+import org.redisson.client.codec.Codec;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.IntConsumer;
+
+/**
+ * Partitions keys across several CSC-tracked hashes instead of one.
+ * <p>
+ * Redisson 的 CSC 对 RMap 是整张 map 维度失效的，任意 field 变化都会清空该 map 的全部本地缓存；
+ * 单个 hash 也只落在一个 slot 上。拆成 K 个分片后，一次写入只清空 1/K 的本地数据，读写压力也分散到 K 个 slot。
+ * 分片名形如 {@code base:{tag}}，tag 由 {@link ClusterSlots#shardTag} 选出，保证各分片均匀分布在 slot 空间上。
+ * key 按自身的 cluster slot 对 K 取模选择分片。shardCount 为 1 时直接使用 base 名称，等价于单 map 布局。
+ */
+public class ShardedNearCacheMap {
+
+    private final String baseName;
+    private final List<RMap<String, String>> shards;
+
+    public ShardedNearCacheMap(RClientSideCaching csc, String baseName, int shardCount, Codec codec) {
+        if (shardCount <= 0 || shardCount > ClusterSlots.SLOT_COUNT) {
+            throw new IllegalArgumentException("shardCount must be within [1, " + ClusterSlots.SLOT_COUNT + "]");
+        }
+        this.baseName = baseName;
+        List<RMap<String, String>> maps = new ArrayList<>(shardCount);
+        if (shardCount == 1) {
+            maps.add(csc.getMap(baseName, codec));
+        } else {
+            for (int i = 0; i < shardCount; i++) {
+                String name = baseName + ":{" + ClusterSlots.shardTag(baseName, i, shardCount) + "}";
+                maps.add(csc.getMap(name, codec));
+            }
+        }
+        this.shards = Collections.unmodifiableList(maps);
+    }
+
+    public String get(String key) {
+        return shardFor(key).get(key);
+    }
+
+    public void put(String key, String value) {
+        shardFor(key).fastPut(key, value);
+    }
+
+    public void remove(String key) {
+        shardFor(key).fastRemove(key);
+    }
+
+    public int shardIndex(String key) {
+        return ClusterSlots.slotOf(key) % shards.size();
+    }
+
+    public RMap<String, String> shardFor(String key) {
+        return shards.get(shardIndex(key));
+    }
+
+    public List<RMap<String, String>> shards() {
+        return shards;
+    }
+
+    public int shardCount() {
+        return shards.size();
+    }
+
+    public String getBaseName() {
+        return baseName;
+    }
+
+    /**
+     * 为每个分片注册 tracking 监听，回调参数为分片下标。
+     */
+    public void addTrackingListener(IntConsumer listener) {
+        for (int i = 0; i < shards.size(); i++) {
+            int index = i;
+            shards.get(i).addListener((TrackingListener) name -> listener.accept(index));
+        }
+    }
+
+    public void delete() {
+        shards.forEach(RMap::delete);
+    }
+}
@@ -0,0 +1,147 @@
+package com.github.jwxa.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RLock;
+import org.redisson.api.RedissonClient;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coalesces concurrent loads of the same key so that only one loader runs at a time.
+ * <p>
+ * LOCAL：同一 JVM 内同 key 只允许一个线程回源，其余线程等待并共享结果；
+ * CLUSTER：在 LOCAL 的基础上，领头线程再获取 Redisson 分布式锁，保证整个集群同一时刻只有一个节点回源。
+ * 获取分布式锁超时后仍会回源，避免锁持有者宕机导致调用方长时间阻塞。
+ * 领头线程先执行 recheck（前一个领头者或其他节点可能已写好缓存），recheck 为 null 时才执行 loader 并计入回源次数。
+ */
+@Slf4j
+public class SingleFlightLoader {
+
+    public enum Mode {
+        NONE, LOCAL, CLUSTER
+    }
+
+    private final String cacheName;
+    private final Mode mode;
+    private final RedissonClient redissonClient;
+    private final Duration lockWait;
+    private final Duration lockLease;
+    private final ConcurrentHashMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter loads;
+    private final Counter coalesced;
+    private final Counter lockTimeouts;
+
+    public SingleFlightLoader(String cacheName,
+                              Mode mode,
+                              RedissonClient redissonClient,
+                              Duration lockWait,
+                              Duration lockLease,
+                              MeterRegistry meterRegistry) {
+        this.cacheName = cacheName;
+        this.mode = mode;
+        this.redissonClient = redissonClient;
+        this.lockWait = lockWait;
+        this.lockLease = lockLease;
+        this.loads = Counter.builder("cache.load.executed")
+                .description("Loader executions after the leader re-check missed, at most one per group of coalesced callers")
+                .tag("cache", cacheName)
+                .register(meterRegistry);
+        this.coalesced = Counter.builder("cache.load.coalesced")
+                .description("Callers that waited on an in-flight load instead of loading themselves")
+                .tag("cache", cacheName)
+                .register(meterRegistry);
+        this.lockTimeouts = Counter.builder("cache.load.cluster.lock.timeout")
+                .description("Cluster-wide load locks that could not be acquired in time")
+                .tag("cache", cacheName)
+                .register(meterRegistry);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T load(String key, Callable<T> recheck, Callable<T> loader) throws Exception {
+        if (mode == Mode.NONE) {
+            return loadDirect(recheck, loader);
+        }
+        CompletableFuture<Object> created = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            coalesced.increment();
+            return (T) await(existing);
+        }
+        try {
+            T value = mode == Mode.CLUSTER ? loadWithClusterLock(key, recheck, loader) : loadDirect(recheck, loader);
+            created.complete(value);
+            return value;
+        } catch (Exception | Error e) {
+            created.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, created);
+        }
+    }
+
+    public long loadCount() {
+        return (long) loads.count();
+    }
+
+    public long coalescedCount() {
+        return (long) coalesced.count();
+    }
+
+    public long lockTimeoutCount() {
+        return (long) lockTimeouts.count();
+    }
+
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    private <T> T loadDirect(Callable<T> recheck, Callable<T> loader) throws Exception {
+        T existing = recheck.call();
+        if (existing != null) {
+            return existing;
+        }
+        loads.increment();
+        return loader.call();
+    }
+
+    private <T> T loadWithClusterLock(String key, Callable<T> recheck, Callable<T> loader) throws Exception {
+        RLock lock = redissonClient.getLock(cacheName + "::" + key + "::load-lock");
+        boolean locked = false;
+        try {
+            locked = lock.tryLock(lockWait.toMillis(), lockLease.toMillis(), TimeUnit.MILLISECONDS);
+            if (!locked) {
+                lockTimeouts.increment();
+                log.warn("[SingleFlight] cluster lock timeout, loading without lock cache={} key={}", cacheName, key);
+            }
+            // 持锁后先复查，其他节点已回源的结果会直接复用
+            return loadDirect(recheck, loader);
+        } finally {
+            if (locked && lock.isHeldByCurrentThread()) {
+                lock.unlock();
+            }
+        }
+    }
+
+    private Object await(CompletableFuture<Object> future) throws Exception {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw e;
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof Exception exception) {
+                throw exception;
+            }
+            throw (Error) cause;
+        }
+    }
+}
@@ -0,0 +1,217 @@
+package com.github.jwxa.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.BatchOptions;
+import org.redisson.api.BatchResult;
+import org.redisson.api.RBatch;
+import org.redisson.api.RFuture;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.redisnode.RedisClusterMaster;
+import org.redisson.api.redisnode.RedisNodes;
+import org.redisson.client.RedisRedirectException;
+import org.redisson.client.codec.Codec;
+import org.redisson.cluster.ClusterSlotRange;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Slot-aware bulk reads and writes of string buckets that cost one pipelined round-trip per shard.
+ * <p>
+ * 按 {@link ClusterSlots#slotOf} 计算每个 key 的 slot，再按 CLUSTER SLOTS 的 slot 区间归到所属分片（master + 副本），
+ * 每个分片一个 {@link RBatch}，各分片并行执行后合并结果。分片以「节点地址集合」标识，能匹配到 master 时用 master 地址展示。
+ * slot 表按 refreshInterval 懒刷新；重新分片期间 Redisson 会在批次内跟随 MOVED/ASK 重试，
+ * 仍以重定向失败的分片会刷新 slot 表并按新表重新分组，只重试一次。
+ */
+@Slf4j
+public class SlotAwareBulkRouter {
+
+    private static final String UNKNOWN_SHARD = "unknown";
+
+    private final RedissonClient redissonClient;
+    private final long refreshIntervalNanos;
+    private volatile SlotTable slotTable;
+
+    public SlotAwareBulkRouter(RedissonClient redissonClient, Duration refreshInterval) {
+        this.redissonClient = redissonClient;
+        this.refreshIntervalNanos = refreshInterval.toNanos();
+    }
+
+    public Result<Map<String, String>> getAll(Collection<String> keys, Codec codec) {
+        long start = System.nanoTime();
+        Map<String, String> values = new HashMap<>();
+        Map<String, List<String>> groups = group(keys, false);
+        List<String> redirected = execute(groups, codec, values, true);
+        int retried = redirected.size();
+        if (!redirected.isEmpty()) {
+            redirected = execute(group(redirected, true), codec, values, true);
+            if (!redirected.isEmpty()) {
+                throw new IllegalStateException("keys still redirected after slot table refresh: " + redirected.size());
+            }
+        }
+        return new Result<>(values, groups.size(), retried, System.nanoTime() - start);
+    }
+
+    public Result<Integer> setAll(Map<String, String> entries, Codec codec) {
+        long start = System.nanoTime();
+        Map<String, List<String>> groups = group(entries.keySet(), false);
+        List<String> redirected = execute(groups, codec, entries, false);
+        int retried = redirected.size();
+        if (!redirected.isEmpty()) {
+            redirected = execute(group(redirected, true), codec, entries, false);
+            if (!redirected.isEmpty()) {
+                throw new IllegalStateException("keys still redirected after slot table refresh: " + redirected.size());
+            }
+        }
+        return new Result<>(entries.size(), groups.size(), retried, System.nanoTime() - start);
+    }
+
+    /**
+     * 按当前 slot 表把 key 分到各分片，返回「分片标识 -> key 列表」。
+     */
+    public Map<String, List<String>> group(Collection<String> keys, boolean forceRefresh) {
+        SlotTable table = slotTable(forceRefresh);
+        Map<String, List<String>> groups = new LinkedHashMap<>();
+        for (String key : keys) {
+            String shard = table.shardOf(ClusterSlots.slotOf(key));
+            groups.computeIfAbsent(shard, ignored -> new ArrayList<>()).add(key);
+        }
+        return groups;
+    }
+
+    /**
+     * 读取时 values 为结果输出，写入时 values 为待写入的数据；返回因重定向失败需要重试的 key。
+     */
+    private List<String> execute(Map<String, List<String>> groups, Codec codec, Map<String, String> values, boolean read) {
+        Map<String, RFuture<BatchResult<?>>> futures = new LinkedHashMap<>();
+        for (Map.Entry<String, List<String>> group : groups.entrySet()) {
+            BatchOptions options = read ? BatchOptions.defaults() : BatchOptions.defaults().skipResult();
+            RBatch batch = redissonClient.createBatch(options);
+            for (String key : group.getValue()) {
+                if (read) {
+                    batch.<String>getBucket(key, codec).getAsync();
+                } else {
+                    batch.<String>getBucket(key, codec).setAsync(values.get(key));
+                }
+            }
+            futures.put(group.getKey(), batch.executeAsync());
+        }
+        List<String> redirected = new ArrayList<>();
+        for (Map.Entry<String, RFuture<BatchResult<?>>> entry : futures.entrySet()) {
+            List<String> keys = groups.get(entry.getKey());
+            try {
+                BatchResult<?> result = entry.getValue().toCompletableFuture().get();
+                if (read) {
+                    List<?> responses = result.getResponses();
+                    for (int i = 0; i < keys.size(); i++) {
+                        Object value = responses.get(i);
+                        if (value != null) {
+                            values.put(keys.get(i), (String) value);
+                        }
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("interrupted while waiting for shard " + entry.getKey(), e);
+            } catch (ExecutionException | CompletionException e) {
+                if (!isRedirect(e)) {
+                    throw new IllegalStateException("batch to shard " + entry.getKey() + " failed", e.getCause());
+                }
+                log.info("[SlotAwareBulkRouter] shard {} redirected, retry {} keys with a fresh slot table",
+                        entry.getKey(), keys.size());
+                redirected.addAll(keys);
+            }
+        }
+        return redirected;
+    }
+
+    private boolean isRedirect(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof RedisRedirectException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private SlotTable slotTable(boolean forceRefresh) {
+        SlotTable table = slotTable;
+        if (forceRefresh || table == null || System.nanoTime() - table.loadedAtNanos() > refreshIntervalNanos) {
+            synchronized (this) {
+                table = slotTable;
+                if (forceRefresh || table == null || System.nanoTime() - table.loadedAtNanos() > refreshIntervalNanos) {
+                    table = loadSlotTable();
+                    slotTable = table;
+                }
+            }
+        }
+        return table;
+    }
+
+    private SlotTable loadSlotTable() {
+        String[] shards = new String[ClusterSlots.SLOT_COUNT];
+        Arrays.fill(shards, UNKNOWN_SHARD);
+        Collection<RedisClusterMaster> masters = redissonClient.getRedisNodes(RedisNodes.CLUSTER).getMasters();
+        Set<String> masterAddresses = new TreeSet<>();
+        for (RedisClusterMaster master : masters) {
+            InetSocketAddress addr = master.getAddr();
+            masterAddresses.add(addr.getAddress().getHostAddress() + ":" + addr.getPort());
+            masterAddresses.add(addr.getHostString() + ":" + addr.getPort());
+        }
+        for (RedisClusterMaster master : masters) {
+            try {
+                Map<ClusterSlotRange, Set<String>> ranges = master.clusterSlots();
+                for (Map.Entry<ClusterSlotRange, Set<String>> range : ranges.entrySet()) {
+                    String shard = shardName(range.getValue(), masterAddresses);
+                    for (int slot = range.getKey().getStartSlot(); slot <= range.getKey().getEndSlot(); slot++) {
+                        shards[slot] = shard;
+                    }
+                }
+                log.debug("[SlotAwareBulkRouter] loaded {} slot ranges from {}", ranges.size(), master.getAddr());
+                return new SlotTable(shards, System.nanoTime());
+            } catch (Exception e) {
+                log.warn("[SlotAwareBulkRouter] CLUSTER SLOTS failed on {}: {}", master.getAddr(), e.getMessage());
+            }
+        }
+        // 拿不到 slot 表时全部归入同一组，退化为单个 RBatch，由 Redisson 自行按节点拆分
+        return new SlotTable(shards, System.nanoTime());
+    }
+
+    private String shardName(Set<String> nodes, Set<String> masterAddresses) {
+        for (String node : nodes) {
+            if (masterAddresses.contains(node)) {
+                return node;
+            }
+        }
+        return String.join(",", new TreeSet<>(nodes));
+    }
+
+    private record SlotTable(String[] shards, long loadedAtNanos) {
+
+        String shardOf(int slot) {
+            return shards[slot];
+        }
+    }
+
+    /**
+     * @param shards 本次请求涉及的分片数，即并行发出的批次数
+     * @param retriedKeys 因重定向而按新 slot 表重试的 key 数
+     */
+    public record Result<T>(T value, int shards, int retriedKeys, long durationNanos) {
+
+        public long durationMicros() {
+            return durationNanos / 1_000;
+        }
+    }
+}
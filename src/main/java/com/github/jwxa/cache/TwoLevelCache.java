@@ -0,0 +1,206 @@
+package com.github.jwxa.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RBucket;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.Codec;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+/**
+ * Spring {@link org.springframework.cache.Cache} backed by a Caffeine L1 in front of a Redis L2.
+ * <p>
+ * 读：L1 -> L2 -> 回源；写：先写 L2 再写 L1，并广播失效消息让其他节点丢弃各自的 L1。
+ * Keys are normalised to their string form so that L1, L2 and the broadcast agree on identity.
+ */
+@Slf4j
+public class TwoLevelCache extends AbstractValueAdaptingCache {
+
+    private final String name;
+    private final Cache<Object, Object> localCache;
+    private final RedissonClient redissonClient;
+    private final Codec remoteCodec;
+    private final Duration remoteTtl;
+    private final TwoLevelCacheManager manager;
+    private final SingleFlightLoader singleFlightLoader;
+    private final HotKeyDetector hotKeyDetector;
+    private final AccessTraceRecorder accessTrace;
+    private final int traceSource;
+
+    public TwoLevelCache(String name,
+                         Cache<Object, Object> localCache,
+                         RedissonClient redissonClient,
+                         Codec remoteCodec,
+                         Duration remoteTtl,
+                         TwoLevelCacheManager manager,
+                         SingleFlightLoader singleFlightLoader,
+                         HotKeyDetector hotKeyDetector,
+                         AccessTraceRecorder accessTrace) {
+        super(false);
+        this.name = name;
+        this.localCache = localCache;
+        this.redissonClient = redissonClient;
+        this.remoteCodec = remoteCodec;
+        this.remoteTtl = remoteTtl;
+        this.manager = manager;
+        this.singleFlightLoader = singleFlightLoader;
+        this.hotKeyDetector = hotKeyDetector;
+        this.accessTrace = accessTrace;
+        this.traceSource = accessTrace.source(name);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Cache<Object, Object> getNativeCache() {
+        return localCache;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        String localKey = localKey(key);
+        if (hotKeyDetector != null) {
+            hotKeyDetector.record(localKey);
+        }
+        Object value = localCache.getIfPresent(localKey);
+        if (value != null) {
+            accessTrace.record(traceSource, localKey, AccessTraceRecorder.Outcome.L1_HIT, AccessTraceRecorder.sizeOf(value));
+            return value;
+        }
+        value = remoteBucket(localKey).get();
+        if (value != null) {
+            localCache.put(localKey, value);
+            accessTrace.record(traceSource, localKey, AccessTraceRecorder.Outcome.L2_HIT, AccessTraceRecorder.sizeOf(value));
+        } else {
+            accessTrace.record(traceSource, localKey, AccessTraceRecorder.Outcome.MISS, -1);
+        }
+        return value;
+    }
+
+    /**
+     * {@code @Cacheable(sync = true)} 走这里：未命中时通过 {@link SingleFlightLoader} 合并同 key 的并发回源。
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Object cached = lookup(key);
+        if (cached != null) {
+            return (T) fromStoreValue(cached);
+        }
+        try {
+            String localKey = localKey(key);
+            return singleFlightLoader.load(localKey, () -> {
+                Object loaded = peek(localKey);
+                return loaded == null ? null : (T) fromStoreValue(loaded);
+            }, () -> {
+                T value = valueLoader.call();
+                put(key, value);
+                return value;
+            });
+        } catch (Exception ex) {
+            throw new ValueRetrievalException(key, valueLoader, ex);
+        }
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        String localKey = localKey(key);
+        Object storeValue = toStoreValue(value);
+        remoteBucket(localKey).set(storeValue, remoteTtl);
+        localCache.put(localKey, storeValue);
+        manager.publishEvict(name, localKey);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        String localKey = localKey(key);
+        Object storeValue = toStoreValue(value);
+        RBucket<Object> bucket = remoteBucket(localKey);
+        if (bucket.setIfAbsent(storeValue, remoteTtl)) {
+            localCache.put(localKey, storeValue);
+            manager.publishEvict(name, localKey);
+            return null;
+        }
+        Object existing = bucket.get();
+        if (existing != null) {
+            localCache.put(localKey, existing);
+        }
+        return existing == null ? null : new SimpleValueWrapper(fromStoreValue(existing));
+    }
+
+    @Override
+    public void evict(Object key) {
+        String localKey = localKey(key);
+        remoteBucket(localKey).delete();
+        localCache.invalidate(localKey);
+        manager.publishEvict(name, localKey);
+    }
+
+    @Override
+    public void clear() {
+        long removed = redissonClient.getKeys().deleteByPattern(remoteKeyPrefix() + "*");
+        localCache.invalidateAll();
+        manager.publishClear(name);
+        log.info("[TwoLevelCache] cleared cache={} remoteKeysRemoved={}", name, removed);
+    }
+
+    /**
+     * 仅清理本节点 L1，供失效广播使用。
+     */
+    void evictLocal(String key) {
+        localCache.invalidate(key);
+    }
+
+    void clearLocal() {
+        localCache.invalidateAll();
+    }
+
+    /**
+     * 领头线程回源前的复查：只读 L1/L2，L2 命中时回填 L1，不计热点采样与访问轨迹。
+     */
+    private Object peek(String localKey) {
+        Object value = localCache.getIfPresent(localKey);
+        if (value != null) {
+            return value;
+        }
+        value = remoteBucket(localKey).get();
+        if (value != null) {
+            localCache.put(localKey, value);
+        }
+        return value;
+    }
+
+    /**
+     * 只读 L2，供热 key 钉住时提前刷新。
+     */
+    Object loadRemote(Object localKey) {
+        return remoteBucket(String.valueOf(localKey)).get();
+    }
+
+    public SingleFlightLoader getSingleFlightLoader() {
+        return singleFlightLoader;
+    }
+
+    static String remoteKey(String cacheName, String localKey) {
+        return cacheName + "::" + localKey;
+    }
+
+    private String remoteKeyPrefix() {
+        return remoteKey(name, "");
+    }
+
+    private RBucket<Object> remoteBucket(String localKey) {
+        return redissonClient.getBucket(remoteKey(name, localKey), remoteCodec);
+    }
+
+    private String localKey(Object key) {
+        return String.valueOf(key);
+    }
+}
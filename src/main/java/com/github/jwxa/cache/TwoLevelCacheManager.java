@@ -0,0 +1,134 @@
+package com.github.jwxa.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.jwxa.config.TwoLevelCacheProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RTopic;
+import org.redisson.api.RedissonClient;
+import org.redisson.codec.TypedJsonJacksonCodec;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.cache.support.AbstractCacheManager;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * CacheManager producing {@link TwoLevelCache} instances on demand.
+ * <p>
+ * 预先注册的本地缓存（例如 caffeineNativeCache）会作为对应 cacheName 的 L1，其余 cacheName 由 {@link LocalCacheFactory} 按策略新建。
+ * 所有节点订阅同一个 topic，收到其他节点的失效消息后只清理本地 L1。
+ */
+@Slf4j
+public class TwoLevelCacheManager extends AbstractCacheManager implements DisposableBean {
+
+    private final RedissonClient redissonClient;
+    private final TwoLevelCacheProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final LocalCacheFactory localCacheFactory;
+    private final HotKeyPinner hotKeyPinner;
+    private final AccessTraceRecorder accessTrace;
+    private final Map<String, Cache<Object, Object>> presetLocalCaches = new ConcurrentHashMap<>();
+    private final String origin = UUID.randomUUID().toString();
+    private RTopic invalidationTopic;
+    private int listenerId = -1;
+
+    public TwoLevelCacheManager(RedissonClient redissonClient,
+                                TwoLevelCacheProperties properties,
+                                MeterRegistry meterRegistry,
+                                LocalCacheFactory localCacheFactory,
+                                HotKeyPinner hotKeyPinner,
+                                AccessTraceRecorder accessTrace) {
+        this.redissonClient = redissonClient;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.localCacheFactory = localCacheFactory;
+        this.hotKeyPinner = hotKeyPinner;
+        this.accessTrace = accessTrace;
+    }
+
+    /**
+     * 为指定 cacheName 绑定已有的 Caffeine 实例作为 L1，需在容器初始化前调用。
+     */
+    public void registerLocalCache(String cacheName, Cache<Object, Object> localCache) {
+        presetLocalCaches.put(cacheName, localCache);
+    }
+
+    @Override
+    protected Collection<? extends org.springframework.cache.Cache> loadCaches() {
+        return presetLocalCaches.keySet().stream()
+                .map(this::createCache)
+                .toList();
+    }
+
+    @Override
+    protected org.springframework.cache.Cache getMissingCache(String name) {
+        return createCache(name);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        super.afterPropertiesSet();
+        invalidationTopic = redissonClient.getTopic(properties.getInvalidationTopic(),
+                new TypedJsonJacksonCodec(CacheInvalidationMessage.class));
+        listenerId = invalidationTopic.addListener(CacheInvalidationMessage.class,
+                (channel, message) -> onInvalidation(message));
+    }
+
+    @Override
+    public void destroy() {
+        if (invalidationTopic != null && listenerId != -1) {
+            invalidationTopic.removeListener(listenerId);
+        }
+    }
+
+    void publishEvict(String cacheName, String key) {
+        publish(new CacheInvalidationMessage(origin, cacheName, key));
+    }
+
+    void publishClear(String cacheName) {
+        publish(new CacheInvalidationMessage(origin, cacheName, null));
+    }
+
+    private void publish(CacheInvalidationMessage message) {
+        try {
+            invalidationTopic.publish(message);
+        } catch (Exception e) {
+            // L2 已经写入成功，广播失败只会让其他节点的 L1 在过期前读到旧值
+            log.warn("[TwoLevelCache] failed to publish invalidation cache={} key={}: {}",
+                    message.cacheName(), message.key(), e.getMessage());
+        }
+    }
+
+    private void onInvalidation(CacheInvalidationMessage message) {
+        if (origin.equals(message.origin())) {
+            return;
+        }
+        org.springframework.cache.Cache cache = lookupCache(message.cacheName());
+        if (!(cache instanceof TwoLevelCache twoLevelCache)) {
+            return;
+        }
+        if (message.isClear()) {
+            twoLevelCache.clearLocal();
+        } else {
+            twoLevelCache.evictLocal(message.key());
+        }
+        log.debug("[TwoLevelCache] remote invalidation cache={} key={}", message.cacheName(), message.key());
+    }
+
+    private TwoLevelCache createCache(String name) {
+        Cache<Object, Object> localCache = presetLocalCaches.computeIfAbsent(name, localCacheFactory::create);
+        SingleFlightLoader singleFlightLoader = new SingleFlightLoader(name,
+                properties.getCoalescing(),
+                redissonClient,
+                properties.getClusterLockWait(),
+                properties.getClusterLockLease(),
+                meterRegistry);
+        TwoLevelCache cache = new TwoLevelCache(name, localCache, redissonClient, localCacheFactory.remoteCodec(),
+                properties.getRemoteTtl(), this, singleFlightLoader, hotKeyPinner.detector(name), accessTrace);
+        hotKeyPinner.register(name, localCache, cache::loadRemote);
+        return cache;
+    }
+}
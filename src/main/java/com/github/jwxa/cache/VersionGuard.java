@@ -0,0 +1,105 @@
+package com.github.jwxa.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * Decides whether a CSC local hit can be served without going back to Redis.
+ * <p>
+ * 每个 key 记录最近一次校验的时间与当时的版本号。距上次校验不足 maxUncheckedAge 的命中直接返回，
+ * 因此本地旧值最多被读到 maxUncheckedAge 这么久；超过后读一次紧凑的版本 key（只返回一个数字），
+ * 本地版本不低于版本 key 时视为新鲜，否则回源读取 Redis 中的最新值。
+ * 版本 key 是按 slot 共享的，同 slot 其他 key 的写入也会让它前进，这种「误报」回源后会被识别并记下，
+ * 在版本 key 再次变化前不会重复回源。
+ */
+class VersionGuard {
+
+    private final Cache<String, Validation> validations;
+    private final long maxUncheckedAgeNanos;
+    private final Counter unchecked;
+    private final Counter checks;
+    private final Counter stale;
+    private final Counter sharedSlotRefreshes;
+
+    VersionGuard(String name, Duration maxUncheckedAge, long trackedKeys, MeterRegistry meterRegistry) {
+        this.validations = Caffeine.newBuilder().maximumSize(trackedKeys).build();
+        this.maxUncheckedAgeNanos = maxUncheckedAge.toNanos();
+        this.unchecked = Counter.builder("near-cache.versioned.unchecked.hits")
+                .description("Local hits served within maxUncheckedAge of the last version check")
+                .tag("structure", name)
+                .register(meterRegistry);
+        this.checks = Counter.builder("near-cache.versioned.checks").tag("structure", name).register(meterRegistry);
+        this.stale = Counter.builder("near-cache.versioned.stale")
+                .description("Local hits rejected because Redis held a newer version")
+                .tag("structure", name)
+                .register(meterRegistry);
+        this.sharedSlotRefreshes = Counter.builder("near-cache.versioned.shared.slot.refreshes")
+                .description("Remote reads caused by writes to other keys sharing the version slot")
+                .tag("structure", name)
+                .register(meterRegistry);
+    }
+
+    String read(String key,
+                VersionedValue local,
+                boolean forceCheck,
+                LongSupplier slotVersion,
+                Supplier<VersionedValue> remoteRead) {
+        long now = System.nanoTime();
+        Validation last = validations.getIfPresent(key);
+        if (!forceCheck && last != null && now - last.checkedAtNanos() < maxUncheckedAgeNanos
+                && local.version() >= last.valueVersion()) {
+            unchecked.increment();
+            return local.value();
+        }
+        checks.increment();
+        long current = slotVersion.getAsLong();
+        boolean confirmed = local.version() >= current
+                || (last != null && last.slotVersion() == current && local.version() >= last.valueVersion());
+        if (confirmed) {
+            validations.put(key, new Validation(current, local.version(), now));
+            return local.value();
+        }
+        VersionedValue remote = remoteRead.get();
+        if (remote == null) {
+            stale.increment();
+            validations.invalidate(key);
+            return null;
+        }
+        if (remote.version() > local.version()) {
+            stale.increment();
+        } else {
+            sharedSlotRefreshes.increment();
+        }
+        validations.put(key, new Validation(current, remote.version(), now));
+        return remote.value();
+    }
+
+    void forget(String key) {
+        validations.invalidate(key);
+    }
+
+    void forgetAll() {
+        validations.invalidateAll();
+    }
+
+    double staleCount() {
+        return stale.count();
+    }
+
+    double checkCount() {
+        return checks.count();
+    }
+
+    double uncheckedCount() {
+        return unchecked.count();
+    }
+
+    private record Validation(long slotVersion, long valueVersion, long checkedAtNanos) {
+    }
+}
@@ -0,0 +1,92 @@
+package com.github.jwxa.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.redisson.api.RBucket;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * CSC bucket whose value carries a version, validated against a {name}:version counter.
+ * <p>
+ * 与 {@link VersionedNearCacheMap} 相同的思路：写入脚本原子地 INCR 版本计数器并写入 "版本:值"，
+ * 校验只读取计数器这一个数字，值很大时比直接回源读取整个值便宜得多。bucket 必须使用 StringCodec。
+ */
+public class VersionedNearCacheBucket {
+
+    private static final String SET_SCRIPT =
+            "local v = redis.call('incr', KEYS[2]); "
+                    + "if tonumber(ARGV[2]) > 0 then "
+                    + "redis.call('set', KEYS[1], v .. ':' .. ARGV[1], 'PX', ARGV[2]); "
+                    + "else redis.call('set', KEYS[1], v .. ':' .. ARGV[1]); end; "
+                    + "return v;";
+
+    private final RBucket<String> cscBucket;
+    private final RBucket<String> remoteBucket;
+    private final RBucket<String> version;
+    private final RScript script;
+    private final List<Object> keys;
+    private final VersionGuard guard;
+
+    public VersionedNearCacheBucket(RedissonClient redissonClient,
+                                    RBucket<String> cscBucket,
+                                    Duration maxUncheckedAge,
+                                    MeterRegistry meterRegistry) {
+        this.cscBucket = cscBucket;
+        String name = cscBucket.getName();
+        String versionName = "{" + name + "}:version";
+        this.remoteBucket = redissonClient.getBucket(name, StringCodec.INSTANCE);
+        this.version = redissonClient.getBucket(versionName, StringCodec.INSTANCE);
+        this.script = redissonClient.getScript(StringCodec.INSTANCE);
+        this.keys = List.of(name, versionName);
+        this.guard = new VersionGuard(name, maxUncheckedAge, 1, meterRegistry);
+    }
+
+    public String get() {
+        return read(false);
+    }
+
+    public String getVerified() {
+        return read(true);
+    }
+
+    public long set(String value) {
+        return set(value, Duration.ZERO);
+    }
+
+    public long set(String value, Duration ttl) {
+        Long newVersion = script.eval(RScript.Mode.READ_WRITE, SET_SCRIPT, RScript.ReturnType.INTEGER,
+                keys, value, Long.toString(ttl.toMillis()));
+        guard.forgetAll();
+        return newVersion;
+    }
+
+    public VersionedValue peekLocal() {
+        return VersionedValue.decode(cscBucket.get());
+    }
+
+    public String getName() {
+        return cscBucket.getName();
+    }
+
+    public double staleReads() {
+        return guard.staleCount();
+    }
+
+    private String read(boolean forceCheck) {
+        VersionedValue local = VersionedValue.decode(cscBucket.get());
+        if (local == null) {
+            return null;
+        }
+        String name = cscBucket.getName();
+        return guard.read(name, local, forceCheck,
+                () -> {
+                    String current = version.get();
+                    return current == null ? 0 : Long.parseLong(current);
+                },
+                () -> VersionedValue.decode(remoteBucket.get()));
+    }
+}
@@ -0,0 +1,124 @@
+package com.github.jwxa.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.redisson.api.RMap;
+import org.redisson.api.RScript;
+import org.redisson.api.RedissonClient;
+import org.redisson.client.codec.StringCodec;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * CSC map whose values carry a version, validated against a compact per-slot version hash.
+ * <p>
+ * 写入用一段 Lua 脚本原子地执行：HINCRBY 版本 hash 中该 key 所属 slot 的计数器，再把 "版本:值" 写进 map。
+ * 版本 hash 命名为 {mapName}:versions，与 map 本身落在同一个 cluster slot，脚本不会跨 slot。
+ * slot 由 key 的 cluster slot 对 versionSlots 取模得到，版本 hash 最多 versionSlots 个 field。
+ * 读取先走 CSC 本地缓存，再由 {@link VersionGuard} 决定是否需要校验版本或回源。
+ * map 必须使用 StringCodec，脚本直接操作原始字符串。
+ */
+public class VersionedNearCacheMap {
+
+    private static final String PUT_SCRIPT =
+            "local v = redis.call('hincrby', KEYS[2], ARGV[1], 1); "
+                    + "redis.call('hset', KEYS[1], ARGV[2], v .. ':' .. ARGV[3]); "
+                    + "return v;";
+    private static final String REMOVE_SCRIPT =
+            "redis.call('hincrby', KEYS[2], ARGV[1], 1); "
+                    + "return redis.call('hdel', KEYS[1], ARGV[2]);";
+
+    private final RMap<String, String> cscMap;
+    private final RMap<String, String> remoteMap;
+    private final RMap<String, String> versions;
+    private final RScript script;
+    private final List<Object> keys;
+    private final int versionSlots;
+    private final VersionGuard guard;
+
+    public VersionedNearCacheMap(RedissonClient redissonClient,
+                                 RMap<String, String> cscMap,
+                                 int versionSlots,
+                                 Duration maxUncheckedAge,
+                                 long trackedKeys,
+                                 MeterRegistry meterRegistry) {
+        this.cscMap = cscMap;
+        String name = cscMap.getName();
+        String versionsName = "{" + name + "}:versions";
+        this.remoteMap = redissonClient.getMap(name, StringCodec.INSTANCE);
+        this.versions = redissonClient.getMap(versionsName, StringCodec.INSTANCE);
+        this.script = redissonClient.getScript(StringCodec.INSTANCE);
+        this.keys = List.of(name, versionsName);
+        this.versionSlots = versionSlots;
+        this.guard = new VersionGuard(name, maxUncheckedAge, trackedKeys, meterRegistry);
+    }
+
+    public String get(String key) {
+        return read(key, false);
+    }
+
+    /**
+     * 无论距上次校验多久都校验一次版本。
+     */
+    public String getVerified(String key) {
+        return read(key, true);
+    }
+
+    /**
+     * @return 本次写入的版本号
+     */
+    public long put(String key, String value) {
+        Long version = script.eval(RScript.Mode.READ_WRITE, PUT_SCRIPT, RScript.ReturnType.INTEGER,
+                keys, slotField(key), key, value);
+        guard.forget(key);
+        return version;
+    }
+
+    public void remove(String key) {
+        script.eval(RScript.Mode.READ_WRITE, REMOVE_SCRIPT, RScript.ReturnType.INTEGER,
+                keys, slotField(key), key);
+        guard.forget(key);
+    }
+
+    /**
+     * 只读本地 CSC 缓存中的原始信封，不做任何校验。
+     */
+    public VersionedValue peekLocal(String key) {
+        return VersionedValue.decode(cscMap.get(key));
+    }
+
+    public long slotVersion(String key) {
+        String version = versions.get(slotField(key));
+        return version == null ? 0 : Long.parseLong(version);
+    }
+
+    public String getName() {
+        return cscMap.getName();
+    }
+
+    public double staleReads() {
+        return guard.staleCount();
+    }
+
+    public double versionChecks() {
+        return guard.checkCount();
+    }
+
+    public double uncheckedHits() {
+        return guard.uncheckedCount();
+    }
+
+    private String read(String key, boolean forceCheck) {
+        VersionedValue local = VersionedValue.decode(cscMap.get(key));
+        if (local == null) {
+            return null;
+        }
+        return guard.read(key, local, forceCheck,
+                () -> slotVersion(key),
+                () -> VersionedValue.decode(remoteMap.get(key)));
+    }
+
+    private String slotField(String key) {
+        return Integer.toString(ClusterSlots.slotOf(key) % versionSlots);
+    }
+}
@@ -0,0 +1,30 @@
+package com.github.jwxa.cache;
+
+/**
+ * Value envelope stored in versioned near-cache structures: {@code <version>:<value>}.
+ * <p>
+ * 版本号由写入脚本在 Redis 侧生成，与值在同一次原子操作中写入；没有版本前缀的旧数据按版本 0 处理。
+ */
+public record VersionedValue(long version, String value) {
+
+    private static final char SEPARATOR = ':';
+
+    public String encode() {
+        return version + String.valueOf(SEPARATOR) + value;
+    }
+
+    public static VersionedValue decode(String raw) {
+        if (raw == null) {
+            return null;
+        }
+        int index = raw.indexOf(SEPARATOR);
+        if (index <= 0) {
+            return new VersionedValue(0, raw);
+        }
+        try {
+            return new VersionedValue(Long.parseLong(raw, 0, index, 10), raw.substring(index + 1));
+        } catch (NumberFormatException e) {
+            return new VersionedValue(0, raw);
+        }
+    }
+}
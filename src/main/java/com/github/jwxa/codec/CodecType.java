@@ -0,0 +1,55 @@
+package com.github.jwxa.codec;
+
+import org.redisson.client.codec.Codec;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.codec.CborJacksonCodec;
+import org.redisson.codec.JsonJacksonCodec;
+import org.redisson.codec.Kryo5Codec;
+import org.redisson.codec.SmileJacksonCodec;
+
+/**
+ * Value encodings selectable for CSC structures.
+ */
+public enum CodecType {
+    /**
+     * 与全局配置一致的 UTF-8 字符串
+     */
+    STRING {
+        @Override
+        public Codec create() {
+            return new StringCodec();
+        }
+    },
+    JSON {
+        @Override
+        public Codec create() {
+            return new JsonJacksonCodec();
+        }
+    },
+    /**
+     * 二进制 JSON，字段名仍然保留，体积一般比 JSON 小 20%~40%
+     */
+    SMILE {
+        @Override
+        public Codec create() {
+            return new SmileJacksonCodec();
+        }
+    },
+    CBOR {
+        @Override
+        public Codec create() {
+            return new CborJacksonCodec();
+        }
+    },
+    /**
+     * 紧凑的二进制格式，不带字段名，编解码 CPU 开销最低
+     */
+    KRYO {
+        @Override
+        public Codec create() {
+            return new Kryo5Codec();
+        }
+    };
+
+    public abstract Codec create();
+}
@@ -0,0 +1,68 @@
+package com.github.jwxa.codec;
+
+import com.github.jwxa.config.RedissonProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.client.codec.Codec;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves the value codec of a CSC structure by name (redisson.csc-codec.structures.&lt;name&gt;).
+ * <p>
+ * 同一个名字始终返回同一个 codec 实例，CSC 视图与直接访问 Redis 的视图必须使用同一个 codec，否则读出来的是乱码。
+ * 只有 structures 中配置过的名字才各自创建并缓存 codec；其余名字（包括请求传入的 prefix）共用一个
+ * structure 标签为 {@value #DEFAULT_STRUCTURE} 的默认 codec，避免 codec 实例与指标序列随外部输入无限增长。
+ */
+@Component
+@Slf4j
+public class CscCodecRegistry {
+
+    private static final String DEFAULT_STRUCTURE = "default";
+
+    private final RedissonProperties.CscCodecConfig config;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, MeteredCodec> codecs = new ConcurrentHashMap<>();
+    private final MeteredCodec defaultCodec;
+
+    public CscCodecRegistry(RedissonProperties redissonProperties, MeterRegistry meterRegistry) {
+        this.config = redissonProperties.getCscCodec();
+        this.meterRegistry = meterRegistry;
+        this.defaultCodec = create(DEFAULT_STRUCTURE);
+    }
+
+    public MeteredCodec codecFor(String structureName) {
+        if (!config.getStructures().containsKey(structureName)) {
+            return defaultCodec;
+        }
+        return codecs.computeIfAbsent(structureName, this::create);
+    }
+
+    public String describe(String structureName) {
+        RedissonProperties.StructureCodec override = config.getStructures().get(structureName);
+        CodecType type = override != null && override.getType() != null ? override.getType() : config.getDefaultType();
+        int threshold = threshold(override);
+        return threshold > 0 ? type.name() + "+LZ4(>=" + threshold + "B)" : type.name();
+    }
+
+    private MeteredCodec create(String structureName) {
+        RedissonProperties.StructureCodec override = config.getStructures().get(structureName);
+        CodecType type = override != null && override.getType() != null ? override.getType() : config.getDefaultType();
+        int threshold = threshold(override);
+        Codec codec = type.create();
+        if (threshold > 0) {
+            codec = new ThresholdLz4Codec(codec, threshold);
+        }
+        String codecName = describe(structureName);
+        log.info("[CscCodecRegistry] structure={} codec={}", structureName, codecName);
+        return new MeteredCodec(codec, structureName, codecName, meterRegistry);
+    }
+
+    private int threshold(RedissonProperties.StructureCodec override) {
+        return override != null && override.getCompressionThreshold() != null
+                ? override.getCompressionThreshold()
+                : config.getCompressionThreshold();
+    }
+}
@@ -0,0 +1,128 @@
+package com.github.jwxa.codec;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.netty.buffer.ByteBuf;
+import org.redisson.client.codec.BaseCodec;
+import org.redisson.client.codec.Codec;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.client.handler.State;
+import org.redisson.client.protocol.Decoder;
+import org.redisson.client.protocol.Encoder;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records encoded size and encode/decode time of values for one structure.
+ * <p>
+ * 指标：csc.codec.value.bytes（编码后字节数）、csc.codec.encode / csc.codec.decode（耗时），
+ * 均带 structure 与 codec 标签，便于对比不同编码在网络字节和 CPU 上的差异。
+ */
+public class MeteredCodec extends BaseCodec {
+
+    private final Codec delegate;
+    private final DistributionSummary valueBytes;
+    private final Timer encodeTimer;
+    private final Timer decodeTimer;
+
+    private final Encoder encoder = new Encoder() {
+        @Override
+        public ByteBuf encode(Object in) throws IOException {
+            long start = System.nanoTime();
+            ByteBuf out = delegate.getValueEncoder().encode(in);
+            encodeTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            valueBytes.record(out.readableBytes());
+            return out;
+        }
+    };
+
+    private final Decoder<Object> decoder = new Decoder<Object>() {
+        @Override
+        public Object decode(ByteBuf buf, State state) throws IOException {
+            long start = System.nanoTime();
+            Object value = delegate.getValueDecoder().decode(buf, state);
+            decodeTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            return value;
+        }
+    };
+
+    public MeteredCodec(Codec delegate, String structure, String codecName, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.valueBytes = DistributionSummary.builder("csc.codec.value.bytes")
+                .baseUnit("bytes")
+                .tag("structure", structure)
+                .tag("codec", codecName)
+                .register(meterRegistry);
+        this.encodeTimer = Timer.builder("csc.codec.encode")
+                .tag("structure", structure)
+                .tag("codec", codecName)
+                .register(meterRegistry);
+        this.decodeTimer = Timer.builder("csc.codec.decode")
+                .tag("structure", structure)
+                .tag("codec", codecName)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Decoder<Object> getValueDecoder() {
+        return decoder;
+    }
+
+    @Override
+    public Encoder getValueEncoder() {
+        return encoder;
+    }
+
+    @Override
+    public Decoder<Object> getMapKeyDecoder() {
+        return StringCodec.INSTANCE.getMapKeyDecoder();
+    }
+
+    @Override
+    public Encoder getMapKeyEncoder() {
+        return StringCodec.INSTANCE.getMapKeyEncoder();
+    }
+
+    @Override
+    public ClassLoader getClassLoader() {
+        return delegate.getClassLoader();
+    }
+
+    public double meanValueBytes() {
+        return valueBytes.mean();
+    }
+
+    public double meanEncodeMicros() {
+        return encodeTimer.mean(TimeUnit.MICROSECONDS);
+    }
+
+    public double meanDecodeMicros() {
+        return decodeTimer.mean(TimeUnit.MICROSECONDS);
+    }
+
+    /**
+     * 当前累计的编码次数、字节数与耗时；前后两次快照相减即一段时间内的均值，上面的 mean 方法是进程启动以来的累计均值。
+     */
+    public EncodeStats encodeStats() {
+        return new EncodeStats(valueBytes.count(), valueBytes.totalAmount(), encodeTimer.totalTime(TimeUnit.NANOSECONDS));
+    }
+
+    public record EncodeStats(long encodes, double totalBytes, double totalEncodeNanos) {
+
+        public long encodesSince(EncodeStats before) {
+            return encodes - before.encodes;
+        }
+
+        public double meanValueBytesSince(EncodeStats before) {
+            long count = encodesSince(before);
+            return count == 0 ? 0.0 : (totalBytes - before.totalBytes) / count;
+        }
+
+        public double meanEncodeMicrosSince(EncodeStats before) {
+            long count = encodesSince(before);
+            return count == 0 ? 0.0 : (totalEncodeNanos - before.totalEncodeNanos) / count / 1_000;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.github.jwxa.codec;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+import net.jpountz.lz4.LZ4FastDecompressor;
+import org.redisson.client.codec.BaseCodec;
+import org.redisson.client.codec.Codec;
+import org.redisson.client.codec.StringCodec;
+import org.redisson.client.handler.State;
+import org.redisson.client.protocol.Decoder;
+import org.redisson.client.protocol.Encoder;
+
+import java.io.IOException;
+
+/**
+ * Wraps another codec and LZ4-compresses encoded values once they exceed a size threshold.
+ * <p>
+ * 存储格式：1 字节标记（0 = 原样，1 = LZ4）+ [LZ4 时 4 字节原始长度] + 数据。小值不压缩，避免为几十字节的值付出 CPU。
+ * Map 的 key 始终按字符串编码，方便在 redis-cli 中按 field 查看。
+ */
+public class ThresholdLz4Codec extends BaseCodec {
+
+    private static final byte RAW = 0;
+    private static final byte LZ4 = 1;
+
+    private final Codec delegate;
+    private final int threshold;
+    private final LZ4Compressor compressor = LZ4Factory.fastestInstance().fastCompressor();
+    private final LZ4FastDecompressor decompressor = LZ4Factory.fastestInstance().fastDecompressor();
+
+    private final Encoder encoder = new Encoder() {
+        @Override
+        public ByteBuf encode(Object in) throws IOException {
+            ByteBuf raw = delegate.getValueEncoder().encode(in);
+            try {
+                int length = raw.readableBytes();
+                if (length < threshold) {
+                    ByteBuf out = ByteBufAllocator.DEFAULT.buffer(length + 1);
+                    out.writeByte(RAW);
+                    out.writeBytes(raw);
+                    return out;
+                }
+                byte[] source = new byte[length];
+                raw.readBytes(source);
+                byte[] compressed = new byte[compressor.maxCompressedLength(length)];
+                int compressedLength = compressor.compress(source, 0, length, compressed, 0, compressed.length);
+                ByteBuf out = ByteBufAllocator.DEFAULT.buffer(compressedLength + 5);
+                out.writeByte(LZ4);
+                out.writeInt(length);
+                out.writeBytes(compressed, 0, compressedLength);
+                return out;
+            } finally {
+                raw.release();
+            }
+        }
+    };
+
+    private final Decoder<Object> decoder = new Decoder<Object>() {
+        @Override
+        public Object decode(ByteBuf buf, State state) throws IOException {
+            byte marker = buf.readByte();
+            if (marker == RAW) {
+                return delegate.getValueDecoder().decode(buf, state);
+            }
+            int length = buf.readInt();
+            byte[] compressed = new byte[buf.readableBytes()];
+            buf.readBytes(compressed);
+            byte[] restored = new byte[length];
+            decompressor.decompress(compressed, 0, restored, 0, length);
+            ByteBuf plain = ByteBufAllocator.DEFAULT.buffer(length);
+            try {
+                plain.writeBytes(restored);
+                return delegate.getValueDecoder().decode(plain, state);
+            } finally {
+                plain.release();
+            }
+        }
+    };
+
+    public ThresholdLz4Codec(Codec delegate, int threshold) {
+        this.delegate = delegate;
+        this.threshold = threshold;
+    }
+
+    @Override
+    public Decoder<Object> getValueDecoder() {
+        return decoder;
+    }
+
+    @Override
+    public Encoder getValueEncoder() {
+        return encoder;
+    }
+
+    @Override
+    public Decoder<Object> getMapKeyDecoder() {
+        return StringCodec.INSTANCE.getMapKeyDecoder();
+    }
+
+    @Override
+    public Encoder getMapKeyEncoder() {
+        return StringCodec.INSTANCE.getMapKeyEncoder();
+    }
+
+    @Override
+    public ClassLoader getClassLoader() {
+        return delegate.getClassLoader();
+    }
+
+    @Override
+    public String toString() {
+        return delegate.getClass().getSimpleName() + "+lz4(>=" + threshold + ")";
+    }
+}
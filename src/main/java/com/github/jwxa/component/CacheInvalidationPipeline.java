@@ -0,0 +1,191 @@
+package com.github.jwxa.component;
+
+import com.github.jwxa.config.CacheInvalidationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Collects keyspace invalidation events into micro-batches and applies them on a dedicated thread.
+ * <p>
+ * 事件线程（Redisson pub/sub）只做一次非阻塞入队；后台线程按「条数达到 maxBatchSize 或距首条事件超过 maxBatchDelay」
+ * 切批，去重后调用 {@link CaffeineCacheInvalidator#invalidateAll}。队列溢出时不阻塞事件线程，
+ * 而是记一次溢出，下一批直接清空整个 L1，保证不会因为丢事件而长期读到旧值。
+ * 不带缓存前缀的 key 在入队前丢弃，其他 key 的过期/删除风暴不会挤满队列触发整体清空。
+ */
+@Component
+@ConditionalOnProperty(prefix = "cache.invalidation", name = "enabled", havingValue = "true")
+@Slf4j
+public class CacheInvalidationPipeline {
+
+    private final CaffeineCacheInvalidator invalidator;
+    private final CacheInvalidationProperties properties;
+    private final BlockingQueue<PendingInvalidation> queue;
+    private final AtomicBoolean fullInvalidationRequested = new AtomicBoolean(false);
+
+    private final DistributionSummary batchSize;
+    private final Timer lag;
+    private final Counter received;
+    private final Counter ignored;
+    private final Counter dropped;
+    private final Counter applied;
+
+    private volatile boolean running;
+    private Thread worker;
+
+    public CacheInvalidationPipeline(CaffeineCacheInvalidator invalidator,
+                                     CacheInvalidationProperties properties,
+                                     MeterRegistry meterRegistry) {
+        this.invalidator = invalidator;
+        this.properties = properties;
+        this.queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        Gauge.builder("cache.invalidation.queue.depth", queue, BlockingQueue::size)
+                .description("Keyspace events waiting to be applied to L1")
+                .register(meterRegistry);
+        this.batchSize = DistributionSummary.builder("cache.invalidation.batch.size")
+                .description("Distinct keys invalidated per batch")
+                .register(meterRegistry);
+        this.lag = Timer.builder("cache.invalidation.lag")
+                .description("Time from event arrival to L1 invalidation")
+                .publishPercentiles(0.5, 0.99, 0.999)
+                .register(meterRegistry);
+        this.received = Counter.builder("cache.invalidation.events.received").register(meterRegistry);
+        this.ignored = Counter.builder("cache.invalidation.events.ignored")
+                .description("Keyspace events for keys outside the cache prefix")
+                .register(meterRegistry);
+        this.dropped = Counter.builder("cache.invalidation.events.dropped").register(meterRegistry);
+        this.applied = Counter.builder("cache.invalidation.keys.applied").register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        worker = new Thread(this::runLoop, "csc-invalidation");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+        }
+    }
+
+    /**
+     * 非阻塞提交，可以直接在 pub/sub 回调线程中调用。
+     */
+    public void submit(String key) {
+        if (!invalidator.owns(key)) {
+            ignored.increment();
+            return;
+        }
+        received.increment();
+        if (!queue.offer(new PendingInvalidation(key, System.nanoTime()))) {
+            dropped.increment();
+            fullInvalidationRequested.set(true);
+        }
+    }
+
+    /**
+     * 无法确认事件是否完整时（如订阅切换），让下一批直接清空整个 L1。
+     */
+    public void requestFullInvalidation() {
+        fullInvalidationRequested.set(true);
+    }
+
+    public int queueDepth() {
+        return queue.size();
+    }
+
+    private void runLoop() {
+        int maxBatch = properties.getMaxBatchSize();
+        long maxDelayNanos = properties.getMaxBatchDelay().toNanos();
+        List<PendingInvalidation> batch = new ArrayList<>(maxBatch);
+        while (running) {
+            try {
+                PendingInvalidation first = queue.poll(maxDelayNanos, TimeUnit.NANOSECONDS);
+                if (first == null) {
+                    applyOverflow();
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + maxDelayNanos;
+                while (batch.size() < maxBatch) {
+                    queue.drainTo(batch, maxBatch - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= maxBatch || remaining <= 0) {
+                        break;
+                    }
+                    PendingInvalidation next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                apply(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                log.error("[CacheInvalidationPipeline] failed to apply batch of {} events", batch.size(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void apply(List<PendingInvalidation> batch) {
+        if (applyOverflow()) {
+            recordLag(batch);
+            return;
+        }
+        Set<String> keys = new LinkedHashSet<>(batch.size());
+        for (PendingInvalidation pending : batch) {
+            keys.add(pending.key());
+        }
+        invalidator.invalidateAll(keys);
+        batchSize.record(keys.size());
+        applied.increment(keys.size());
+        recordLag(batch);
+    }
+
+    /**
+     * 有事件因队列溢出或订阅切换而丢失时，清空整个 L1 作为兜底。
+     */
+    private boolean applyOverflow() {
+        if (!fullInvalidationRequested.compareAndSet(true, false)) {
+            return false;
+        }
+        log.warn("[CacheInvalidationPipeline] events may have been lost, falling back to full L1 invalidation");
+        invalidator.invalidateEverything();
+        return true;
+    }
+
+    private void recordLag(List<PendingInvalidation> batch) {
+        long now = System.nanoTime();
+        for (PendingInvalidation pending : batch) {
+            lag.record(now - pending.enqueuedNanos(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private record PendingInvalidation(String key, long enqueuedNanos) {
+    }
+}
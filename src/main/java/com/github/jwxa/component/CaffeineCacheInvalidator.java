@@ -1,21 +1,80 @@
 package com.github.jwxa.component;
 
 import com.github.benmanes.caffeine.cache.Cache;
+import com.github.jwxa.config.CacheConfig;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
 @Component
+@ConditionalOnProperty(prefix = "cache.invalidation", name = "enabled", havingValue = "true")
 @Slf4j
 public class CaffeineCacheInvalidator {
 
+    /**
+     * TwoLevelCache 在 Redis 中的 key 形如 demoCache::k，而 L1 中的 key 是 k
+     */
+    private static final String REMOTE_KEY_PREFIX = CacheConfig.DEMO_CACHE + "::";
+
     private final Cache<Object, Object> caffeineCache;
 
     public CaffeineCacheInvalidator(Cache<Object, Object> caffeineCache) {
         this.caffeineCache = caffeineCache;
     }
 
+    /**
+     * 入参为 Redis 中的 key，不带缓存前缀的 key 与 L1 无关，直接忽略。
+     */
     public void invalidate(Object key) {
-        log.info("开始清除caffeine缓存, key:{}", key);
-        caffeineCache.invalidate(key);
+        Object localKey = toLocalKey(String.valueOf(key));
+        if (localKey == null) {
+            return;
+        }
+        log.debug("开始清除caffeine缓存, key:{}", localKey);
+        caffeineCache.invalidate(localKey);
+    }
+
+    /**
+     * 批量清除，入参为 Redis 中的 key；不带缓存前缀的 key 被忽略。
+     */
+    public void invalidateAll(Collection<String> redisKeys) {
+        List<Object> localKeys = new ArrayList<>(redisKeys.size());
+        for (String redisKey : redisKeys) {
+            Object localKey = toLocalKey(redisKey);
+            if (localKey != null) {
+                localKeys.add(localKey);
+            }
+        }
+        if (localKeys.isEmpty()) {
+            return;
+        }
+        caffeineCache.invalidateAll(localKeys);
+        log.debug("批量清除caffeine缓存, size:{}", localKeys.size());
+    }
+
+    /**
+     * redisKey 是否带有该缓存的前缀，供事件入队前过滤无关 key。
+     */
+    public boolean owns(String redisKey) {
+        return redisKey != null && redisKey.startsWith(REMOTE_KEY_PREFIX);
+    }
+
+    /**
+     * 事件丢失时的兜底：清空整个 L1。
+     */
+    public void invalidateEverything() {
+        log.warn("清空全部caffeine缓存");
+        caffeineCache.invalidateAll();
+    }
+
+    /**
+     * @return L1 中的 key，redisKey 不属于该缓存时返回 null
+     */
+    private Object toLocalKey(String redisKey) {
+        return owns(redisKey) ? redisKey.substring(REMOTE_KEY_PREFIX.length()) : null;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,206 @@
+package com.github.jwxa.component;
+
+import com.github.jwxa.config.ClusterMonitorProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RFuture;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.redisnode.RedisCluster;
+import org.redisson.api.redisnode.RedisClusterNode;
+import org.redisson.api.redisnode.RedisNode;
+import org.redisson.api.redisnode.RedisNodes;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Polls every cluster node in the background and keeps the latest health snapshot.
+ * <p>
+ * 每 pollInterval 对全部 master/副本并行发出 PING、CLUSTER INFO 与 INFO server（异步命令，不占用线程），
+ * 每个节点的命令各自受 nodeTimeout 限制，挂掉的节点只会让自己标记为不可达，不会拖慢其他节点或调用方。
+ * 状态接口直接返回 {@link #snapshot()}；PING 往返耗时记入 {@code redis.cluster.node.ping}，节点存活记入 {@code redis.cluster.node.up}，
+ * 每个节点另保留最近 rttHistorySize 个样本随快照返回。
+ */
+@Component
+@Slf4j
+public class ClusterHealthMonitor {
+
+    private final RedissonClient redissonClient;
+    private final ClusterMonitorProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, NodeHistory> histories = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "cluster-health-monitor");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile Snapshot snapshot = new Snapshot(null, 0L, List.of(), "cluster status not polled yet");
+    private volatile boolean lastPollFailed;
+
+    public ClusterHealthMonitor(RedissonClient redissonClient,
+                                ClusterMonitorProperties properties,
+                                MeterRegistry meterRegistry) {
+        this.redissonClient = redissonClient;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    public void start() {
+        long interval = properties.getPollInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::poll, 0, interval, TimeUnit.MILLISECONDS);
+        log.info("[ClusterHealthMonitor] polling cluster nodes every {}, nodeTimeout={}",
+                properties.getPollInterval(), properties.getNodeTimeout());
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    public Snapshot snapshot() {
+        return snapshot;
+    }
+
+    private void poll() {
+        long start = System.nanoTime();
+        try {
+            RedisCluster cluster = redissonClient.getRedisNodes(RedisNodes.CLUSTER);
+            List<CompletableFuture<NodeHealth>> checks = new ArrayList<>();
+            cluster.getMasters().forEach(node -> checks.add(check(node, "MASTER")));
+            cluster.getSlaves().forEach(node -> checks.add(check(node, "SLAVE")));
+            CompletableFuture.allOf(checks.toArray(new CompletableFuture[0])).join();
+            List<NodeHealth> nodes = checks.stream().map(CompletableFuture::join).toList();
+            snapshot = new Snapshot(Instant.now(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), nodes, null);
+            lastPollFailed = false;
+        } catch (Exception e) {
+            // 集群整体不可用（如拓扑尚未建立）时，快照带上错误信息，只在首次失败时告警
+            if (!lastPollFailed) {
+                log.warn("[ClusterHealthMonitor] cluster poll failed: {}", e.getMessage());
+            }
+            lastPollFailed = true;
+            snapshot = new Snapshot(Instant.now(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start),
+                    List.of(), e.getClass().getSimpleName() + ": " + e.getMessage());
+        }
+    }
+
+    private CompletableFuture<NodeHealth> check(RedisClusterNode node, String nodeType) {
+        String address = String.valueOf(node.getAddr());
+        long timeoutMillis = properties.getNodeTimeout().toMillis();
+        long sent = System.nanoTime();
+        CompletableFuture<Long> ping = bounded(node.pingAsync(timeoutMillis, TimeUnit.MILLISECONDS))
+                .thenApply(ok -> Boolean.TRUE.equals(ok) ? System.nanoTime() - sent : -1L);
+        CompletableFuture<Map<String, String>> clusterInfo = bounded(node.clusterInfoAsync());
+        CompletableFuture<Map<String, String>> serverInfo = bounded(node.infoAsync(RedisNode.InfoSection.SERVER));
+        return CompletableFuture.allOf(ping, clusterInfo, serverInfo).handle((ignored, error) -> {
+            Long rttNanos = ping.isCompletedExceptionally() ? null : ping.join();
+            boolean up = rttNanos != null && rttNanos >= 0;
+            NodeHistory history = histories.computeIfAbsent(address, NodeHistory::new);
+            List<Long> rttHistory = history.record(up ? rttNanos : null);
+            return new NodeHealth(address, nodeType, up,
+                    up ? TimeUnit.NANOSECONDS.toMicros(rttNanos) : null,
+                    rttHistory,
+                    clusterInfo.isCompletedExceptionally() ? null : clusterInfo.join(),
+                    serverInfo.isCompletedExceptionally() ? null : serverInfo.join(),
+                    error != null ? describe(error) : up ? null : "PING failed");
+        });
+    }
+
+    private <T> CompletableFuture<T> bounded(RFuture<T> future) {
+        return future.toCompletableFuture().orTimeout(properties.getNodeTimeout().toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private String describe(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof TimeoutException) {
+            return "timed out after " + properties.getNodeTimeout().toMillis() + "ms";
+        }
+        return cause.getClass().getSimpleName() + ": " + cause.getMessage();
+    }
+
+    /**
+     * 单个节点的 PING 耗时指标与最近样本，节点地址首次出现时注册。
+     */
+    private final class NodeHistory {
+
+        private final Timer rtt;
+        private final AtomicInteger up = new AtomicInteger();
+        private final Deque<Long> samples = new ArrayDeque<>();
+
+        private NodeHistory(String address) {
+            this.rtt = Timer.builder("redis.cluster.node.ping")
+                    .description("PING round-trip time per cluster node, measured by the background monitor")
+                    .tag("node", address)
+                    .publishPercentiles(0.5, 0.9, 0.99)
+                    .distributionStatisticExpiry(Duration.ofMinutes(5))
+                    .register(meterRegistry);
+            Gauge.builder("redis.cluster.node.up", up, AtomicInteger::get)
+                    .description("1 when the node answered the last PING within the node timeout")
+                    .tag("node", address)
+                    .register(meterRegistry);
+        }
+
+        /**
+         * @param rttNanos 往返耗时，null 表示本轮不可达（样本中记为 -1）
+         * @return 最近的样本（微秒），旧样本在前
+         */
+        private synchronized List<Long> record(Long rttNanos) {
+            if (rttNanos != null) {
+                rtt.record(rttNanos, TimeUnit.NANOSECONDS);
+            }
+            up.set(rttNanos != null ? 1 : 0);
+            samples.addLast(rttNanos != null ? TimeUnit.NANOSECONDS.toMicros(rttNanos) : -1L);
+            while (samples.size() > Math.max(1, properties.getRttHistorySize())) {
+                samples.removeFirst();
+            }
+            return List.copyOf(samples);
+        }
+    }
+
+    /**
+     * @param checkedAt 完成轮询的时间，尚未轮询过时为 null
+     * @param error 整体轮询失败的原因，单个节点的失败记录在 {@link NodeHealth#error()}
+     */
+    public record Snapshot(Instant checkedAt, long pollMillis, List<NodeHealth> nodes, String error) {
+
+        public long ageMillis() {
+            return checkedAt == null ? -1 : Duration.between(checkedAt, Instant.now()).toMillis();
+        }
+
+        public List<NodeHealth> nodesOfType(String nodeType) {
+            return nodes.stream().filter(node -> nodeType.equals(node.nodeType())).toList();
+        }
+    }
+
+    /**
+     * @param rttMicros 本轮 PING 往返耗时，不可达时为 null
+     * @param rttHistoryMicros 最近的 PING 往返耗时，-1 表示该轮不可达
+     */
+    public record NodeHealth(String address,
+                             String nodeType,
+                             boolean ping,
+                             Long rttMicros,
+                             List<Long> rttHistoryMicros,
+                             Map<String, String> clusterInfo,
+                             Map<String, String> serverInfo,
+                             String error) {
+    }
+}
@@ -0,0 +1,28 @@
+package com.github.jwxa.component;
+
+import com.github.jwxa.cache.HotKeyPinner;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@code GET /actuator/hotkeys}：各两级缓存当前的热 key、估计读取次数以及是否已钉在 L1。
+ */
+@Component
+@Endpoint(id = "hotkeys")
+public class HotKeysEndpoint {
+
+    private final HotKeyPinner hotKeyPinner;
+
+    public HotKeysEndpoint(HotKeyPinner hotKeyPinner) {
+        this.hotKeyPinner = hotKeyPinner;
+    }
+
+    @ReadOperation
+    public Map<String, List<Map<String, Object>>> hotKeys() {
+        return hotKeyPinner.snapshot();
+    }
+}
@@ -0,0 +1,135 @@
+package com.github.jwxa.component;
+
+import com.github.jwxa.config.InvalidationProbeProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RBucket;
+import org.redisson.api.RClientSideCaching;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.listener.TrackingListener;
+import org.redisson.api.options.ClientSideCachingOptions;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures how long a remote write takes to reach the local CSC tracking listener.
+ * <p>
+ * 每个探针 key 同时有一个 CSC bucket（负责被 Redis 跟踪并接收失效通知）和一个普通 bucket（模拟其他实例写入）。
+ * 每轮先经 CSC 读一次让 Redis 重新跟踪该 key（默认模式下通知一次后即停止跟踪），记下发起写入的时间，
+ * 再用普通连接写入；TrackingListener 收到 onChange 时用当前时间减去发起时间，记入 {@code csc.invalidation.latency}。
+ * 延迟从发起写入算起，包含写命令本身的往返，也就是本地缓存在一次远端写入后可能保持旧值的最长时间。
+ * 探针 key 名使用 {probe-N} hashtag 分散到不同 slot，集群下可以覆盖多个 master 的通知链路。
+ */
+@Component
+@ConditionalOnProperty(prefix = "near-cache.invalidation-probe", name = "enabled", havingValue = "true")
+@Slf4j
+public class InvalidationLatencyProbe {
+
+    private static final String PROBE_KEY_PATTERN = "csc:latency-probe:{probe-%d}";
+
+    private final RedissonClient redissonClient;
+    private final InvalidationProbeProperties properties;
+    private final Timer latency;
+    private final Counter timeouts;
+    private final List<Probe> probes = new ArrayList<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "csc-latency-probe");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public InvalidationLatencyProbe(RedissonClient redissonClient,
+                                    InvalidationProbeProperties properties,
+                                    MeterRegistry meterRegistry) {
+        this.redissonClient = redissonClient;
+        this.properties = properties;
+        this.latency = Timer.builder("csc.invalidation.latency")
+                .description("Time from a remote write to the local CSC tracking notification")
+                .publishPercentiles(0.5, 0.9, 0.99, 0.999)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        this.timeouts = Counter.builder("csc.invalidation.probe.timeouts")
+                .description("Probe writes whose tracking notification did not arrive within the timeout")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        RClientSideCaching csc = redissonClient.getClientSideCaching(ClientSideCachingOptions.defaults().size(16));
+        for (int i = 0; i < properties.getProbeKeys(); i++) {
+            String key = String.format(PROBE_KEY_PATTERN, i);
+            Probe probe = new Probe(csc.getBucket(key, StringCodec.INSTANCE), redissonClient.getBucket(key, StringCodec.INSTANCE));
+            probe.tracked.addListener((TrackingListener) name -> probe.onChange());
+            probes.add(probe);
+        }
+        long interval = properties.getInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::runOnce, interval, interval, TimeUnit.MILLISECONDS);
+        log.info("[InvalidationLatencyProbe] probing {} keys every {}", probes.size(), properties.getInterval());
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    public Timer latency() {
+        return latency;
+    }
+
+    private void runOnce() {
+        long timeoutNanos = properties.getTimeout().toNanos();
+        for (Probe probe : probes) {
+            try {
+                probe.fire(timeoutNanos);
+            } catch (Exception e) {
+                log.warn("[InvalidationLatencyProbe] probe {} failed: {}", probe.remote.getName(), e.getMessage());
+            }
+        }
+    }
+
+    private final class Probe {
+
+        private final RBucket<String> tracked;
+        private final RBucket<String> remote;
+        private final AtomicLong pendingSince = new AtomicLong();
+
+        private Probe(RBucket<String> tracked, RBucket<String> remote) {
+            this.tracked = tracked;
+            this.remote = remote;
+        }
+
+        private void fire(long timeoutNanos) {
+            long previous = pendingSince.get();
+            if (previous != 0) {
+                if (System.nanoTime() - previous < timeoutNanos) {
+                    return;
+                }
+                if (pendingSince.compareAndSet(previous, 0)) {
+                    timeouts.increment();
+                }
+            }
+            tracked.get();
+            pendingSince.set(System.nanoTime());
+            remote.set(Long.toString(System.currentTimeMillis()));
+        }
+
+        private void onChange() {
+            long sent = pendingSince.getAndSet(0);
+            if (sent != 0) {
+                latency.record(System.nanoTime() - sent, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.github.jwxa.component;
+
+import com.github.jwxa.cache.CscLocalView;
+import com.github.jwxa.codec.CscCodecRegistry;
+import com.github.jwxa.config.ConsistencyProbeProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RClientSideCaching;
+import org.redisson.api.RMap;
+import org.redisson.api.RedissonClient;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Continuously samples the CSC map and compares it with Redis in the background.
+ * <p>
+ * 只比对已在 CSC 本地缓存中的 key：每轮用 HRANDFIELD 从远端 hash 随机取一批 field 作为候选，
+ * 经 {@link CscLocalView} 查看本地是否已缓存（不经过 map 读取，不会触发远端访问或填充本地缓存），
+ * 本地没有的候选直接跳过，有的与普通 map 的一次 HMGET 结果比对；不一致时再查一次本地，排除比对期间恰好收到通知的情况。
+ * 已发现不一致的 key 每轮都会优先复查，直到与 Redis 一致或离开本地缓存，
+ * 不一致时长为 now - 首次发现时间（下界，分辨率为抽样周期）。
+ * 运行在单独的最低优先级守护线程上，每轮比对量（含复查）受 keysPerSecond 限制。
+ */
+@Component
+@ConditionalOnProperty(prefix = "near-cache.consistency-probe", name = "enabled", havingValue = "true")
+@Slf4j
+public class NearCacheConsistencyProber {
+
+    private final RMap<String, String> cscMap;
+    private final CscLocalView localView;
+    private final RMap<String, String> remoteMap;
+    private final ConsistencyProbeProperties properties;
+    private final Counter samples;
+    private final Counter divergent;
+    private final Deque<Round> window = new ArrayDeque<>();
+    private final Map<String, Divergence> divergences = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "csc-consistency-probe");
+        thread.setDaemon(true);
+        thread.setPriority(Thread.MIN_PRIORITY);
+        return thread;
+    });
+
+    public NearCacheConsistencyProber(RClientSideCaching scenarioClientSideCaching,
+                                      RMap<String, String> scenarioClientSideCachingMap,
+                                      RedissonClient redissonClient,
+                                      CscCodecRegistry codecRegistry,
+                                      ConsistencyProbeProperties properties,
+                                      MeterRegistry meterRegistry) {
+        this.cscMap = scenarioClientSideCachingMap;
+        this.localView = new CscLocalView(scenarioClientSideCaching, scenarioClientSideCachingMap);
+        String name = scenarioClientSideCachingMap.getName();
+        this.remoteMap = redissonClient.getMap(name, codecRegistry.codecFor(name));
+        this.properties = properties;
+        this.samples = Counter.builder("near-cache.consistency.samples").tag("map", name).register(meterRegistry);
+        this.divergent = Counter.builder("near-cache.consistency.divergent")
+                .description("Locally cached keys whose CSC value differed from Redis")
+                .tag("map", name)
+                .register(meterRegistry);
+        Gauge.builder("near-cache.consistency.divergence.rate", this, NearCacheConsistencyProber::divergenceRate)
+                .description("Divergent / sampled keys over the rolling window")
+                .tag("map", name)
+                .register(meterRegistry);
+        TimeGauge.builder("near-cache.consistency.max.staleness", this, TimeUnit.MILLISECONDS,
+                        NearCacheConsistencyProber::maxStalenessMillis)
+                .description("Longest continuous divergence of a single key over the rolling window")
+                .tag("map", name)
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!localView.available()) {
+            log.warn("[NearCacheConsistencyProber] CSC local cache of {} is not readable, sampling disabled", cscMap.getName());
+            return;
+        }
+        long interval = properties.getInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::runOnce, interval, interval, TimeUnit.MILLISECONDS);
+        log.info("[NearCacheConsistencyProber] sampling {} every {} at {} keys/s",
+                cscMap.getName(), properties.getInterval(), properties.getKeysPerSecond());
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    public synchronized double divergenceRate() {
+        long sampled = 0;
+        long diverged = 0;
+        for (Round round : window) {
+            sampled += round.sampled();
+            diverged += round.diverged();
+        }
+        return sampled == 0 ? 0.0 : (double) diverged / sampled;
+    }
+
+    public synchronized long maxStalenessMillis() {
+        long max = 0;
+        for (Round round : window) {
+            max = Math.max(max, round.maxStalenessMillis());
+        }
+        return max;
+    }
+
+    private void runOnce() {
+        try {
+            int sampleSize = (int) Math.max(1, properties.getKeysPerSecond() * properties.getInterval().toMillis() / 1000);
+            // 先复查已不一致的 key，剩余预算再给随机候选
+            Set<String> candidates = new LinkedHashSet<>();
+            for (String key : divergences.keySet()) {
+                if (candidates.size() >= sampleSize) {
+                    break;
+                }
+                candidates.add(key);
+            }
+            if (candidates.size() < sampleSize) {
+                candidates.addAll(remoteMap.randomKeys(sampleSize - candidates.size()));
+            }
+            Map<String, String> local = new HashMap<>();
+            for (String key : candidates) {
+                CscLocalView.LocalEntry entry = localView.peek(key);
+                if (entry != null) {
+                    local.put(key, entry.value());
+                } else {
+                    divergences.remove(key);
+                }
+            }
+            if (local.isEmpty()) {
+                record(new Round(0, 0, 0));
+                return;
+            }
+            Map<String, String> remote = remoteMap.getAll(local.keySet());
+            long now = System.currentTimeMillis();
+            int diverged = 0;
+            long maxStaleness = 0;
+            for (Map.Entry<String, String> entry : local.entrySet()) {
+                String key = entry.getKey();
+                String expected = remote.get(key);
+                if (Objects.equals(entry.getValue(), expected)) {
+                    divergences.remove(key);
+                    continue;
+                }
+                // 再查一次本地，排除比对期间刚好发生写入、通知已到达的情况
+                CscLocalView.LocalEntry recheck = localView.peek(key);
+                if (recheck == null || Objects.equals(recheck.value(), expected)) {
+                    divergences.remove(key);
+                    continue;
+                }
+                diverged++;
+                Divergence previous = divergences.get(key);
+                if (previous != null) {
+                    divergences.put(key, new Divergence(previous.firstSeenMillis(), now));
+                    maxStaleness = Math.max(maxStaleness, now - previous.firstSeenMillis());
+                } else if (divergences.size() < sampleSize) {
+                    // 跟踪数不超过每轮预算，保证每个已跟踪的 key 每轮都能被复查
+                    divergences.put(key, new Divergence(now, now));
+                }
+            }
+            samples.increment(local.size());
+            divergent.increment(diverged);
+            record(new Round(local.size(), diverged, maxStaleness));
+            if (diverged > 0) {
+                log.debug("[NearCacheConsistencyProber] {} of {} locally cached keys diverged", diverged, local.size());
+            }
+        } catch (Exception e) {
+            log.warn("[NearCacheConsistencyProber] sampling round failed: {}", e.getMessage());
+        }
+    }
+
+    private synchronized void record(Round round) {
+        window.addLast(round);
+        while (window.size() > properties.getWindowRounds()) {
+            window.removeFirst();
+        }
+    }
+
+    private record Round(int sampled, int diverged, long maxStalenessMillis) {
+    }
+
+    private record Divergence(long firstSeenMillis, long lastSeenMillis) {
+    }
+}
@@ -1,16 +1,54 @@
 package com.github.jwxa.component;
 
+import com.github.jwxa.config.CacheInvalidationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.ClusterNode;
+import org.redisson.api.ClusterNodesGroup;
+import org.redisson.api.NodeType;
 import org.redisson.api.RTopic;
 import org.redisson.api.RedissonClient;
+import org.redisson.connection.ConnectionListener;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.stereotype.Component;
 
-//@Component
+import java.net.InetSocketAddress;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@Component
+@ConditionalOnProperty(prefix = "cache.invalidation", name = "enabled", havingValue = "true")
 @Slf4j
 public class RedisKeyEventListener {
 
+    private static final List<String> KEY_EVENT_CHANNELS = List.of(
+            // 订阅所有 key 过期事件
+            "__keyevent@0__:expired",
+            // 订阅所有 key 删除事件
+            "__keyevent@0__:del");
+
     private final RedissonClient redissonClient;
-    private final CaffeineCacheInvalidator invalidator;
+    private final CacheInvalidationPipeline pipeline;
+    private final CacheInvalidationProperties properties;
+    private final Counter resubscriptions;
+    private final List<RTopic> topics = new ArrayList<>();
+    private final ScheduledExecutorService topologyWatcher = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "keyevent-topology");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile Set<String> subscribedMasters = Set.of();
+    private int connectionListenerId = -1;
 
     /**
      * 需要redis启动命令开启  notify-keyspace-events
@@ -22,26 +60,27 @@ public class RedisKeyEventListener {
      * PUBLISH __keyspace@0__:mykey del
      * PUBLISH __keyevent@0__:del mykey
      *
+     * 集群模式下键事件只在 key 所在的 master 上发布，必须在每个 master 上都订阅。
+     * Redisson 对 __keyevent@ 频道会按当前的 master 列表逐个 SUBSCRIBE，但订阅完成后不会跟随扩容/故障切换，
+     * 所以这里定期用 getClusterNodesGroup() 核对 master 集合，变化后重新订阅，并清空一次 L1 兜底切换窗口内丢失的事件。
+     * 所有 master 的事件都汇入同一个 {@link CacheInvalidationPipeline}。
+     *
      * @param redissonClient
-     * @param invalidator
+     * @param pipeline
      */
-    public RedisKeyEventListener(RedissonClient redissonClient, CaffeineCacheInvalidator invalidator) {
+    public RedisKeyEventListener(RedissonClient redissonClient,
+                                 CacheInvalidationPipeline pipeline,
+                                 CacheInvalidationProperties properties,
+                                 MeterRegistry meterRegistry) {
         this.redissonClient = redissonClient;
-        this.invalidator = invalidator;
-
-        // 订阅所有 key 过期事件
-        RTopic expiredTopic = redissonClient.getTopic("__keyevent@0__:expired");
-        expiredTopic.addListener(String.class, (channel, key) -> {
-            log.info("监听到redis过期事件, key:{}", key);
-//            invalidator.invalidate(key);
-        });
-
-        // 订阅所有 key 删除事件
-        RTopic deleteTopic = redissonClient.getTopic("__keyevent@0__:del");
-        deleteTopic.addListener(String.class, (channel, key) -> {
-            log.info("监听到redis删除事件, key:{}", key);
-//            invalidator.invalidate(key);
-        });
+        this.pipeline = pipeline;
+        this.properties = properties;
+        this.resubscriptions = Counter.builder("cache.invalidation.resubscriptions")
+                .description("Keyevent re-subscriptions caused by cluster topology changes")
+                .register(meterRegistry);
+        Gauge.builder("cache.invalidation.subscribed.masters", this, listener -> listener.subscribedMasters.size())
+                .description("Cluster masters currently covered by keyevent subscriptions")
+                .register(meterRegistry);
 
         //注意 监听器和localMap的监听器不能同时监听，否则会冲突
         //        RTopic hashDelTopic = redissonClient.getTopic("__keyevent@*:hdel");
@@ -49,4 +88,70 @@ public class RedisKeyEventListener {
         //            log.info("监听到redis hdel事件, channel:{}, message:{}", channel, message);
         //        });
     }
-}
\ No newline at end of file
+
+    @PostConstruct
+    public void start() {
+        for (String channel : KEY_EVENT_CHANNELS) {
+            topics.add(redissonClient.getTopic(channel));
+        }
+        subscribedMasters = currentMasters();
+        subscribe();
+        log.info("[RedisKeyEventListener] subscribed keyevent channels on masters {}", subscribedMasters);
+
+        ClusterNodesGroup nodesGroup = redissonClient.getClusterNodesGroup();
+        connectionListenerId = nodesGroup.addConnectionListener(new ConnectionListener() {
+            @Override
+            public void onConnect(InetSocketAddress addr) {
+                topologyWatcher.execute(RedisKeyEventListener.this::reconcile);
+            }
+
+            @Override
+            public void onDisconnect(InetSocketAddress addr) {
+                topologyWatcher.execute(RedisKeyEventListener.this::reconcile);
+            }
+        });
+        long interval = properties.getTopologyCheckInterval().toMillis();
+        topologyWatcher.scheduleWithFixedDelay(this::reconcile, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        topologyWatcher.shutdownNow();
+        if (connectionListenerId != -1) {
+            redissonClient.getClusterNodesGroup().removeConnectionListener(connectionListenerId);
+        }
+        topics.forEach(RTopic::removeAllListeners);
+    }
+
+    private void subscribe() {
+        for (RTopic topic : topics) {
+            topic.addListener(String.class, (channel, key) -> pipeline.submit(key));
+        }
+    }
+
+    private void reconcile() {
+        try {
+            Set<String> masters = currentMasters();
+            if (masters.equals(subscribedMasters)) {
+                return;
+            }
+            log.warn("[RedisKeyEventListener] master set changed {} -> {}, re-subscribing", subscribedMasters, masters);
+            topics.forEach(RTopic::removeAllListeners);
+            subscribe();
+            subscribedMasters = masters;
+            resubscriptions.increment();
+            // 切换期间旧 master 上的事件可能已经丢失
+            pipeline.requestFullInvalidation();
+        } catch (Exception e) {
+            log.warn("[RedisKeyEventListener] topology reconcile failed: {}", e.getMessage());
+        }
+    }
+
+    private Set<String> currentMasters() {
+        Set<String> masters = new TreeSet<>();
+        for (ClusterNode node : redissonClient.getClusterNodesGroup().getNodes(NodeType.MASTER)) {
+            masters.add(String.valueOf(node.getAddr()));
+        }
+        return masters;
+    }
+}
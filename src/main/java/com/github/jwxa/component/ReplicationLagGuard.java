@@ -0,0 +1,172 @@
+package com.github.jwxa.component;
+
+import com.github.jwxa.config.ReplicaReadProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.redisson.api.RedissonClient;
+import org.redisson.api.redisnode.RedisClusterMaster;
+import org.redisson.api.redisnode.RedisNode;
+import org.redisson.api.redisnode.RedisNodes;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks how far replicas trail their masters and decides whether replica reads are safe.
+ * <p>
+ * 按 checkInterval 对每个 master 执行 INFO replication，用 master_repl_offset 减去各 slaveN 的 offset 得到落后字节数。
+ * 只有同时满足以下条件时 {@link #replicasUsable()} 才返回 true：最近一次检查在 maxCheckAge 内、每个 master 至少有一个副本、
+ * 所有副本 state=online 且落后不超过 maxLag。分流客户端会在同一 master 的副本之间均衡，所以任何一个副本不达标都整体回退。
+ */
+@Component
+@ConditionalOnProperty(prefix = "near-cache.replica-read", name = "enabled", havingValue = "true")
+@Slf4j
+public class ReplicationLagGuard {
+
+    private final RedissonClient redissonClient;
+    private final ReplicaReadProperties properties;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "replication-lag-guard");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private volatile Snapshot snapshot = new Snapshot(List.of(), 0L, "not checked yet");
+
+    public ReplicationLagGuard(RedissonClient redissonClient,
+                               ReplicaReadProperties properties,
+                               MeterRegistry meterRegistry) {
+        this.redissonClient = redissonClient;
+        this.properties = properties;
+        Gauge.builder("near-cache.replica-read.max.lag", this, guard -> guard.snapshot.maxLagBytes())
+                .description("Largest replication offset gap between a master and one of its replicas")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        Gauge.builder("near-cache.replica-read.usable", this, guard -> guard.replicasUsable() ? 1 : 0)
+                .description("1 when CSC miss reads are routed to replicas, 0 when they fall back to masters")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        long interval = properties.getCheckInterval().toMillis();
+        scheduler.scheduleWithFixedDelay(this::check, 0, interval, TimeUnit.MILLISECONDS);
+        log.info("[ReplicationLagGuard] checking replication offsets every {}, maxLag={}",
+                properties.getCheckInterval(), properties.getMaxLag());
+    }
+
+    @PreDestroy
+    public void stop() {
+        scheduler.shutdownNow();
+    }
+
+    public boolean replicasUsable() {
+        Snapshot current = snapshot;
+        return current.blockedBy() == null
+                && System.nanoTime() - current.checkedAtNanos() <= properties.getMaxCheckAge().toNanos();
+    }
+
+    public Snapshot snapshot() {
+        return snapshot;
+    }
+
+    private void check() {
+        try {
+            long maxLag = properties.getMaxLag().toBytes();
+            List<MasterLag> masters = new ArrayList<>();
+            String blockedBy = null;
+            for (RedisClusterMaster master : redissonClient.getRedisNodes(RedisNodes.CLUSTER).getMasters()) {
+                MasterLag lag = parse(master.getAddr().toString(), master.info(RedisNode.InfoSection.REPLICATION));
+                masters.add(lag);
+                if (blockedBy == null) {
+                    blockedBy = lag.blockedBy(maxLag);
+                }
+            }
+            if (masters.isEmpty()) {
+                blockedBy = "no masters";
+            }
+            boolean wasUsable = replicasUsable();
+            snapshot = new Snapshot(masters, System.nanoTime(), blockedBy);
+            if (wasUsable && blockedBy != null) {
+                log.warn("[ReplicationLagGuard] falling back to master reads: {}", blockedBy);
+            } else if (!wasUsable && blockedBy == null) {
+                log.info("[ReplicationLagGuard] replicas within lag bound, routing CSC miss reads to replicas");
+            }
+        } catch (Exception e) {
+            // 保留旧快照，超过 maxCheckAge 后自然回退到 master
+            log.warn("[ReplicationLagGuard] replication check failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 解析 INFO replication：master_repl_offset 与 slaveN:ip=..,port=..,state=online,offset=..,lag=..
+     */
+    private MasterLag parse(String address, Map<String, String> info) {
+        long masterOffset = Long.parseLong(info.getOrDefault("master_repl_offset", "0"));
+        List<ReplicaLag> replicas = new ArrayList<>();
+        for (Map.Entry<String, String> entry : info.entrySet()) {
+            if (!entry.getKey().matches("slave\\d+")) {
+                continue;
+            }
+            Map<String, String> fields = new HashMap<>();
+            for (String pair : entry.getValue().split(",")) {
+                int separator = pair.indexOf('=');
+                if (separator > 0) {
+                    fields.put(pair.substring(0, separator), pair.substring(separator + 1));
+                }
+            }
+            long offset = Long.parseLong(fields.getOrDefault("offset", "0"));
+            replicas.add(new ReplicaLag(fields.get("ip") + ":" + fields.get("port"),
+                    fields.getOrDefault("state", "unknown"), offset, Math.max(0, masterOffset - offset)));
+        }
+        return new MasterLag(address, masterOffset, replicas);
+    }
+
+    /**
+     * @param blockedBy 不能读副本的原因，null 表示可以
+     */
+    public record Snapshot(List<MasterLag> masters, long checkedAtNanos, String blockedBy) {
+
+        public long maxLagBytes() {
+            return masters.stream().mapToLong(MasterLag::maxLagBytes).max().orElse(0L);
+        }
+
+        public long ageMillis() {
+            return checkedAtNanos == 0 ? -1 : TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - checkedAtNanos);
+        }
+    }
+
+    public record MasterLag(String address, long masterReplOffset, List<ReplicaLag> replicas) {
+
+        public long maxLagBytes() {
+            return replicas.stream().mapToLong(ReplicaLag::lagBytes).max().orElse(0L);
+        }
+
+        private String blockedBy(long maxLag) {
+            if (replicas.isEmpty()) {
+                return address + " has no replicas";
+            }
+            for (ReplicaLag replica : replicas) {
+                if (!"online".equals(replica.state())) {
+                    return replica.address() + " is " + replica.state();
+                }
+                if (replica.lagBytes() > maxLag) {
+                    return replica.address() + " lags " + replica.lagBytes() + " bytes behind " + address;
+                }
+            }
+            return null;
+        }
+    }
+
+    public record ReplicaLag(String address, String state, long offset, long lagBytes) {
+    }
+}
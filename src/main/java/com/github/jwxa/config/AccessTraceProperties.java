@@ -0,0 +1,37 @@
+package com.github.jwxa.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * 缓存读路径访问轨迹录制配置。
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "cache.access-trace")
+public class AccessTraceProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * 轨迹文件目录，文件名为 access-trace-{序号}.bin
+     */
+    private String directory = "access-trace";
+
+    /**
+     * 采样率（0~1），1 表示记录每一次读取
+     */
+    private double sampleRate = 0.01;
+
+    /**
+     * 单个文件大小，写满后切换到新文件；按 24 字节的记录长度向下取整
+     */
+    private DataSize segmentSize = DataSize.ofMegabytes(64);
+
+    /**
+     * 最多保留的文件数，超出时删除最旧的文件
+     */
+    private int maxSegments = 4;
+}
@@ -0,0 +1,28 @@
+package com.github.jwxa.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * CSC map 批量读取（getAll）本地层配置。
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "near-cache.bulk")
+public class BulkNearCacheProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * 本地层最多缓存的 field 数
+     */
+    private long maximumSize = 10_000;
+
+    /**
+     * 本地条目写入后的过期时间，与 CSC 的 timeToLive 保持一致
+     */
+    private Duration expireAfterWrite = Duration.ofMinutes(5);
+}
@@ -1,61 +1,65 @@
 package com.github.jwxa.config;
 
 import com.github.benmanes.caffeine.cache.Cache;
-import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.jwxa.cache.AccessTraceRecorder;
+import com.github.jwxa.cache.HotKeyPinner;
+import com.github.jwxa.cache.LocalCacheFactory;
+import com.github.jwxa.cache.TwoLevelCacheManager;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.redisson.api.RedissonClient;
-import org.redisson.spring.cache.RedissonSpringCacheManager;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.EnableCaching;
-import org.springframework.cache.caffeine.CaffeineCacheManager;
-import org.springframework.cache.support.CompositeCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.data.redis.cache.RedisCacheConfiguration;
-import org.springframework.data.redis.cache.RedisCacheManager;
-import org.springframework.data.redis.connection.RedisConnectionFactory;
-
-import java.time.Duration;
-import java.util.Arrays;
-import java.util.concurrent.TimeUnit;
 
 @EnableCaching
 @Configuration
 public class CacheConfig {
 
+    public static final String DEMO_CACHE = "demoCache";
+
     @Bean
-    public Cache<Object, Object> caffeineNativeCache() {
-        return Caffeine.newBuilder()
-                .expireAfterWrite(10, TimeUnit.SECONDS)
-                .maximumSize(1000)
-                .recordStats()   // 打开统计功能
-                .build();
+    public HotKeyPinner hotKeyPinner(TwoLevelCacheProperties twoLevelCacheProperties, MeterRegistry meterRegistry) {
+        return new HotKeyPinner(twoLevelCacheProperties, meterRegistry);
     }
 
-//    @Bean
-//    public CacheManager cacheManager(Cache<Object, Object> caffeineCache,
-//                                     RedissonClient redissonClient,
-//                                     RedisConnectionFactory redisConnectionFactory) {
-//        CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager();
-//        caffeineCacheManager.setCaffeine(Caffeine.newBuilder()
-//                .expireAfterWrite(10, TimeUnit.SECONDS)
-//                .maximumSize(1000)
-//                .recordStats());
-//
-////        RedissonSpringCacheManager redissonCacheManager = new RedissonSpringCacheManager(redissonClient);
-//
-//        RedisCacheManager redisCacheManager = RedisCacheManager.builder(redisConnectionFactory)
-//                .cacheDefaults(
-//                        RedisCacheConfiguration.defaultCacheConfig()
-//                                .entryTtl(Duration.ofHours(1)) // 二级缓存过期时间：1 小时
-//                )
-//                .build();
-//        // 2. 配置二级缓存（Redis）
-//            CompositeCacheManager compositeCacheManager = new CompositeCacheManager();
-//        compositeCacheManager.setCacheManagers(Arrays.asList(caffeineCacheManager, redisCacheManager));
-////        compositeCacheManager.setCacheManagers(Arrays.asList(caffeineCacheManager, redissonCacheManager));
-//        compositeCacheManager.setFallbackToNoOpCache(true);
-//
-//        return compositeCacheManager;
-//    }
+    @Bean
+    public AccessTraceRecorder accessTraceRecorder(AccessTraceProperties accessTraceProperties, MeterRegistry meterRegistry) {
+        return new AccessTraceRecorder(accessTraceProperties, meterRegistry);
+    }
+
+    @Bean
+    public LocalCacheFactory localCacheFactory(RedissonClient redissonClient,
+                                               TwoLevelCacheProperties twoLevelCacheProperties,
+                                               MeterRegistry meterRegistry,
+                                               HotKeyPinner hotKeyPinner) {
+        return new LocalCacheFactory(redissonClient, twoLevelCacheProperties, meterRegistry, hotKeyPinner);
+    }
+
+    /**
+     * demoCache 的 L1，过期/刷新策略见 cache.two-level.caches.demoCache；打开统计功能供 CacheMetricsConfig 使用。
+     */
+    @Bean
+    public Cache<Object, Object> caffeineNativeCache(LocalCacheFactory localCacheFactory) {
+        return localCacheFactory.create(DEMO_CACHE);
+    }
+
+    /**
+     * L1 Caffeine + L2 Redis 两级缓存，demoCache 直接复用 caffeineNativeCache 作为 L1，
+     * 这样 CacheMetricsConfig 暴露的统计就是 DemoService 的真实命中情况。
+     */
+    @Bean
+    public CacheManager cacheManager(Cache<Object, Object> caffeineNativeCache,
+                                     RedissonClient redissonClient,
+                                     TwoLevelCacheProperties twoLevelCacheProperties,
+                                     MeterRegistry meterRegistry,
+                                     LocalCacheFactory localCacheFactory,
+                                     HotKeyPinner hotKeyPinner,
+                                     AccessTraceRecorder accessTraceRecorder) {
+        TwoLevelCacheManager cacheManager = new TwoLevelCacheManager(redissonClient, twoLevelCacheProperties,
+                meterRegistry, localCacheFactory, hotKeyPinner, accessTraceRecorder);
+        cacheManager.registerLocalCache(DEMO_CACHE, caffeineNativeCache);
+        return cacheManager;
+    }
 
 }
@@ -0,0 +1,41 @@
+package com.github.jwxa.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 基于 keyspace 事件的 L1 失效管道配置。
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "cache.invalidation")
+public class CacheInvalidationProperties {
+
+    /**
+     * 是否订阅 __keyevent@0__:expired / del，需要 Redis 开启 notify-keyspace-events Exg
+     */
+    private boolean enabled = false;
+
+    /**
+     * 单个批次最多包含的事件数
+     */
+    private int maxBatchSize = 256;
+
+    /**
+     * 批次从第一条事件开始最多等待的时间
+     */
+    private Duration maxBatchDelay = Duration.ofMillis(20);
+
+    /**
+     * 待处理事件队列容量，溢出后降级为清空整个 L1
+     */
+    private int queueCapacity = 10_000;
+
+    /**
+     * 核对集群 master 列表的周期，master 变化后重新订阅键事件
+     */
+    private Duration topologyCheckInterval = Duration.ofSeconds(5);
+}
@@ -0,0 +1,31 @@
+package com.github.jwxa.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 后台集群健康轮询配置。
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "cluster-monitor")
+public class ClusterMonitorProperties {
+
+    /**
+     * 两次轮询之间的间隔，状态接口返回的快照最多落后这么久
+     */
+    private Duration pollInterval = Duration.ofSeconds(5);
+
+    /**
+     * 单个节点 PING / CLUSTER INFO / INFO server 的超时，超时的节点标记为不可达，不影响其他节点
+     */
+    private Duration nodeTimeout = Duration.ofSeconds(1);
+
+    /**
+     * 每个节点保留的最近 PING 往返耗时样本数
+     */
+    private int rttHistorySize = 60;
+}
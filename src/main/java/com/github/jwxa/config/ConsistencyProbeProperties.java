@@ -0,0 +1,33 @@
+package com.github.jwxa.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * CSC map 与 Redis 一致性后台抽样配置。
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "near-cache.consistency-probe")
+public class ConsistencyProbeProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * 抽样周期，也是观测到的不一致时长的分辨率
+     */
+    private Duration interval = Duration.ofSeconds(5);
+
+    /**
+     * 每秒最多比对的 key 数，每轮抽样数 = keysPerSecond * interval
+     */
+    private int keysPerSecond = 20;
+
+    /**
+     * 滚动窗口包含的轮数，不一致率与最大不一致时长都在窗口内统计
+     */
+    private int windowRounds = 12;
+}
@@ -0,0 +1,33 @@
+package com.github.jwxa.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * CSC 失效延迟探针配置。
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "near-cache.invalidation-probe")
+public class InvalidationProbeProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * 每个探针 key 的写入周期
+     */
+    private Duration interval = Duration.ofSeconds(1);
+
+    /**
+     * 探针 key 数量，key 名按 hashtag 分散到不同 slot，尽量覆盖每个 master
+     */
+    private int probeKeys = 3;
+
+    /**
+     * 超过该时长仍未收到 tracking 通知即记一次超时
+     */
+    private Duration timeout = Duration.ofSeconds(2);
+}
@@ -0,0 +1,28 @@
+package com.github.jwxa.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * CSC map 不存在 key 的负缓存配置。
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "near-cache.negative")
+public class NegativeNearCacheProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * 「不存在」标记的存活时间，tracking 通知丢失时最多在这段时间内把新建的 key 当作不存在
+     */
+    private Duration ttl = Duration.ofSeconds(5);
+
+    /**
+     * 最多记录的不存在 key 数
+     */
+    private long maximumSize = 10_000;
+}
@@ -0,0 +1,27 @@
+package com.github.jwxa.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * CSC map 之后的 off-heap 近端缓存层配置。
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "near-cache.off-heap")
+public class OffHeapNearCacheProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * 直接内存总容量，需同时保证 -XX:MaxDirectMemorySize 足够
+     */
+    private DataSize capacity = DataSize.ofMegabytes(256);
+
+    /**
+     * 分段数（2 的幂），段越多写锁竞争越小，但单条值不能超过 capacity / segments
+     */
+    private int segments = 16;
+}
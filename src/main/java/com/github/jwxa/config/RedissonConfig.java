@@ -1,5 +1,8 @@
 package com.github.jwxa.config;
 
+import com.github.jwxa.cache.ReplicaReadNearCacheMap;
+import com.github.jwxa.cache.SlotAwareBulkRouter;
+import com.github.jwxa.codec.CscCodecRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.redisson.Redisson;
 import org.redisson.api.RBucket;
@@ -8,10 +11,14 @@ import org.redisson.api.RedissonClient;
 import org.redisson.api.listener.TrackingListener;
 import org.redisson.api.options.ClientSideCachingOptions;
 import org.redisson.client.codec.StringCodec;
+import org.redisson.config.ClusterServersConfig;
 import org.redisson.config.Config;
 import org.redisson.config.Protocol;
+import org.redisson.config.ReadMode;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
 
 import java.time.Duration;
 
@@ -37,15 +44,49 @@ public class RedissonConfig {
 
 
     @Bean(destroyMethod = "shutdown") // 确保 Spring 关闭时释放资源
+    @Primary
     public RedissonClient redissonClientRedisCluster() {
+        return Redisson.create(clusterConfig(redissonProperties.getClusterServersConfig().getReadMode()));
+    }
+
+    /**
+     * CSC 未命中读取分流到副本用的客户端，只有 {@link ReplicaReadNearCacheMap} 在复制延迟保护下使用。
+     */
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnProperty(prefix = "near-cache.replica-read", name = "enabled", havingValue = "true")
+    public RedissonClient replicaReadRedissonClient(ReplicaReadProperties replicaReadProperties) {
+        log.info("[RedissonConfig] replica read client enabled, readMode={}", replicaReadProperties.getReadMode());
+        return Redisson.create(clusterConfig(replicaReadProperties.getReadMode()));
+    }
+
+    /**
+     * 复制延迟超出上限时 {@link ReplicaReadNearCacheMap} 回退用的客户端，固定只读 master，与主客户端的读模式无关。
+     */
+    @Bean(destroyMethod = "shutdown")
+    @ConditionalOnProperty(prefix = "near-cache.replica-read", name = "enabled", havingValue = "true")
+    public RedissonClient masterReadRedissonClient() {
+        return Redisson.create(clusterConfig(ReadMode.MASTER));
+    }
+
+    private Config clusterConfig(ReadMode readMode) {
         Config config = new Config();
         config.setProtocol(Protocol.RESP3);  // 指定使用 RESP3 协议
         RedissonProperties.ClusterServersConfig clusterConfig = redissonProperties.getClusterServersConfig();
-        config.useClusterServers()
-                .setPassword(clusterConfig.getPassword() == null || clusterConfig.getPassword().isEmpty() ? null : clusterConfig.getPassword())
+        ClusterServersConfig servers = config.useClusterServers();
+        if (readMode != null) {
+            servers.setReadMode(readMode);
+        }
+        servers.setPassword(clusterConfig.getPassword() == null || clusterConfig.getPassword().isEmpty() ? null : clusterConfig.getPassword())
                 .addNodeAddress(clusterConfig.getNodeAddresses().toArray(new String[0]));
+        // 全局仍用 StringCodec，CSC bucket/map 的值编码由 CscCodecRegistry 按结构名单独指定
         config.setCodec(new StringCodec());
-        return Redisson.create(config);
+        return config;
+    }
+
+    @Bean
+    public SlotAwareBulkRouter slotAwareBulkRouter(RedissonClient redissonClient) {
+        return new SlotAwareBulkRouter(redissonClient,
+                redissonProperties.getClusterServersConfig().getSlotTableRefresh());
     }
 
     /**
@@ -119,14 +160,14 @@ public class RedissonConfig {
 
 
     @Bean
-    public RBucket<Object> demoBucket(RedissonClient redissonClient) {
+    public RBucket<Object> demoBucket(RedissonClient redissonClient, CscCodecRegistry codecRegistry) {
         ClientSideCachingOptions options = ClientSideCachingOptions.defaults()
                 .size(1000) // 缓存大小
                 .evictionPolicy(ClientSideCachingOptions.EvictionPolicy.LRU) // 淘汰策略
                 .timeToLive(Duration.ofMillis(60_000)) // 缓存有效期（毫秒）
                 .maxIdle(Duration.ofMillis(120_000)); // 最大空闲时间（毫秒）
         RClientSideCaching csc = redissonClient.getClientSideCaching(options);
-        RBucket<Object> demoBucket = csc.getBucket("demoBucket");
+        RBucket<Object> demoBucket = csc.getBucket("demoBucket", codecRegistry.codecFor("demoBucket"));
         // 启用跟踪监听器以便在外部更改时刷新本地缓存
          demoBucket.addListener(new TrackingListener() {
              @Override
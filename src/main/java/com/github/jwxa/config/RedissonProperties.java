@@ -1,10 +1,15 @@
 package com.github.jwxa.config;
 
+import com.github.jwxa.codec.CodecType;
 import lombok.Data;
+import org.redisson.config.ReadMode;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Data
 @Component
@@ -14,10 +19,39 @@ public class RedissonProperties {
     private String address = "redis://127.0.0.1:6379";
     
     private ClusterServersConfig clusterServersConfig = new ClusterServersConfig();
+
+    private CscCodecConfig cscCodec = new CscCodecConfig();
     
     @Data
     public static class ClusterServersConfig {
         private List<String> nodeAddresses;
         private String password;
+        /**
+         * 主客户端的读模式，不配置时沿用 Redisson 的默认值（SLAVE）；带复制延迟保护的副本分流见 near-cache.replica-read
+         */
+        private ReadMode readMode;
+        /**
+         * {@link com.github.jwxa.cache.SlotAwareBulkRouter} 本地 slot 表的刷新间隔，遇到重定向时会立即刷新
+         */
+        private Duration slotTableRefresh = Duration.ofSeconds(30);
+    }
+
+    /**
+     * CSC bucket/map 的值编解码配置，可按结构名（map 名 / bucket 名 / string-churn 前缀）单独指定。
+     */
+    @Data
+    public static class CscCodecConfig {
+        private CodecType defaultType = CodecType.STRING;
+        /**
+         * 编码后超过该字节数才做 LZ4 压缩，<=0 表示不压缩
+         */
+        private int compressionThreshold = 0;
+        private Map<String, StructureCodec> structures = new LinkedHashMap<>();
+    }
+
+    @Data
+    public static class StructureCodec {
+        private CodecType type;
+        private Integer compressionThreshold;
     }
 }
\ No newline at end of file
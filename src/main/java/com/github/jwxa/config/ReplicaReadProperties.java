@@ -0,0 +1,40 @@
+package com.github.jwxa.config;
+
+import lombok.Data;
+import org.redisson.config.ReadMode;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * CSC 未命中读取分流到副本的配置，带复制延迟保护。
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "near-cache.replica-read")
+public class ReplicaReadProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * 分流客户端的读模式，SLAVE 只读副本，MASTER_SLAVE 在主从之间均衡
+     */
+    private ReadMode readMode = ReadMode.SLAVE;
+
+    /**
+     * 副本复制偏移量落后 master_repl_offset 超过该值时回退到 master 读取
+     */
+    private DataSize maxLag = DataSize.ofKilobytes(64);
+
+    /**
+     * INFO replication 的轮询间隔
+     */
+    private Duration checkInterval = Duration.ofSeconds(1);
+
+    /**
+     * 最近一次成功检查超过该时长（如检查失败、节点超时）即视为延迟未知，回退到 master
+     */
+    private Duration maxCheckAge = Duration.ofSeconds(3);
+}
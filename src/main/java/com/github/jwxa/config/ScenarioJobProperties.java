@@ -0,0 +1,36 @@
+package com.github.jwxa.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 后台场景任务配置。
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "scenario.jobs")
+public class ScenarioJobProperties {
+
+    /**
+     * 同时运行的场景数上限，超出的任务排队等待，避免演练挤占正常流量
+     */
+    private int maxConcurrent = 2;
+
+    /**
+     * 结束的任务在内存中保留的时长
+     */
+    private Duration retention = Duration.ofMinutes(10);
+
+    /**
+     * 最多保留的已结束任务数，排队与运行中的任务不计入也不会被淘汰
+     */
+    private int maxRetained = 100;
+
+    /**
+     * SSE 连接超时
+     */
+    private Duration sseTimeout = Duration.ofMinutes(10);
+}
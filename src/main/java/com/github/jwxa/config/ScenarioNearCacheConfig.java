@@ -1,5 +1,16 @@
 package com.github.jwxa.config;
 
+import com.github.jwxa.cache.BulkNearCacheMap;
+import com.github.jwxa.cache.NegativeNearCacheMap;
+import com.github.jwxa.cache.OffHeapNearCacheMap;
+import com.github.jwxa.cache.OffHeapStore;
+import com.github.jwxa.cache.ReplicaReadNearCacheMap;
+import com.github.jwxa.cache.ShardedNearCacheMap;
+import com.github.jwxa.cache.VersionedNearCacheBucket;
+import com.github.jwxa.cache.VersionedNearCacheMap;
+import com.github.jwxa.codec.CscCodecRegistry;
+import com.github.jwxa.component.ReplicationLagGuard;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.redisson.api.RBucket;
 import org.redisson.api.RClientSideCaching;
@@ -7,6 +18,9 @@ import org.redisson.api.RMap;
 import org.redisson.api.RedissonClient;
 import org.redisson.api.listener.TrackingListener;
 import org.redisson.api.options.ClientSideCachingOptions;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
@@ -21,28 +35,151 @@ public class ScenarioNearCacheConfig {
 
     private static final String CSC_MAP_NAME = "scenario:csc-map";
     private static final String CSC_BUCKET_NAME = "scenario:csc-bucket";
+    private static final String VERSIONED_MAP_NAME = "scenario:csc-map:versioned";
+    private static final String VERSIONED_BUCKET_NAME = "scenario:csc-bucket:versioned";
+    private static final String SHARDED_MAP_NAME = "scenario:csc-map:sharded";
 
+    /**
+     * scenario CSC map 所在的 ClientSideCaching 实例，单独暴露给一致性抽样读取本地缓存内容。
+     */
     @Bean
-    public RMap<String, String> scenarioClientSideCachingMap(RedissonClient client) {
+    public RClientSideCaching scenarioClientSideCaching(RedissonClient client) {
         ClientSideCachingOptions mapOptions = ClientSideCachingOptions.defaults()
                 .size(1024)
                 .timeToLive(Duration.ofMinutes(5))
                 .maxIdle(Duration.ofMinutes(2));
-        RClientSideCaching csc = client.getClientSideCaching(mapOptions);
-        return csc.getMap(CSC_MAP_NAME);
+        return client.getClientSideCaching(mapOptions);
+    }
+
+    @Bean
+    public RMap<String, String> scenarioClientSideCachingMap(RClientSideCaching scenarioClientSideCaching,
+                                                             CscCodecRegistry codecRegistry) {
+        return scenarioClientSideCaching.getMap(CSC_MAP_NAME, codecRegistry.codecFor(CSC_MAP_NAME));
     }
 
     @Bean
-    public RBucket<String> scenarioClientSideCachingBucket(RedissonClient client) {
+    public RBucket<String> scenarioClientSideCachingBucket(RedissonClient client, CscCodecRegistry codecRegistry) {
         ClientSideCachingOptions bucketOptions = ClientSideCachingOptions.defaults()
                 .size(512)
                 .timeToLive(Duration.ofMinutes(2))
                 .maxIdle(Duration.ofMinutes(5));
         RClientSideCaching csc = client.getClientSideCaching(bucketOptions);
-        RBucket<String> bucket = csc.getBucket(CSC_BUCKET_NAME);
+        RBucket<String> bucket = csc.getBucket(CSC_BUCKET_NAME, codecRegistry.codecFor(CSC_BUCKET_NAME));
         bucket.addListener((TrackingListener) name ->
                 log.debug("[ScenarioNearCacheConfig] CSC bucket tracking event -> {}", name));
         return bucket;
     }
 
+    /**
+     * 可选的 off-heap 层，值序列化后存放在直接内存里，堆上只保留 key 与偏移量。
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "near-cache.off-heap", name = "enabled", havingValue = "true")
+    public OffHeapNearCacheMap scenarioOffHeapNearCache(RMap<String, String> scenarioClientSideCachingMap,
+                                                        OffHeapNearCacheProperties properties,
+                                                        MeterRegistry meterRegistry) {
+        OffHeapStore store = new OffHeapStore(properties.getCapacity().toBytes(), properties.getSegments());
+        log.info("[ScenarioNearCacheConfig] off-heap near cache enabled, capacity={} segments={}",
+                properties.getCapacity(), properties.getSegments());
+        return new OffHeapNearCacheMap(scenarioClientSideCachingMap, store, meterRegistry);
+    }
+
+    /**
+     * 可选的负缓存层，远端不存在的 key 在本地记一个短 TTL 的标记，重复查询不再回源。
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "near-cache.negative", name = "enabled", havingValue = "true")
+    public NegativeNearCacheMap scenarioNegativeNearCache(RMap<String, String> scenarioClientSideCachingMap,
+                                                          NegativeNearCacheProperties properties,
+                                                          MeterRegistry meterRegistry) {
+        log.info("[ScenarioNearCacheConfig] negative near cache enabled, ttl={} maximumSize={}",
+                properties.getTtl(), properties.getMaximumSize());
+        return new NegativeNearCacheMap(scenarioClientSideCachingMap, properties.getTtl(),
+                properties.getMaximumSize(), meterRegistry);
+    }
+
+    /**
+     * 可选的按 field 缓存的本地层，供 getAll 先取本地命中、只回源缺失的 field。
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "near-cache.bulk", name = "enabled", havingValue = "true")
+    public BulkNearCacheMap scenarioBulkNearCache(RMap<String, String> scenarioClientSideCachingMap,
+                                                  BulkNearCacheProperties properties,
+                                                  MeterRegistry meterRegistry) {
+        return new BulkNearCacheMap(scenarioClientSideCachingMap, properties.getMaximumSize(),
+                properties.getExpireAfterWrite(), meterRegistry);
+    }
+
+    /**
+     * 可选的副本读取层：同名 CSC map 分别建在读副本与只读 master 的两个专用客户端上，复制延迟超出上限时回退到后者。
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "near-cache.replica-read", name = "enabled", havingValue = "true")
+    public ReplicaReadNearCacheMap scenarioReplicaReadNearCache(@Qualifier("masterReadRedissonClient") RedissonClient masterClient,
+                                                                @Qualifier("replicaReadRedissonClient") RedissonClient replicaClient,
+                                                                CscCodecRegistry codecRegistry,
+                                                                ReplicationLagGuard replicationLagGuard,
+                                                                MeterRegistry meterRegistry) {
+        ClientSideCachingOptions mapOptions = ClientSideCachingOptions.defaults()
+                .size(1024)
+                .timeToLive(Duration.ofMinutes(5))
+                .maxIdle(Duration.ofMinutes(2));
+        RMap<String, String> masterMap = masterClient.getClientSideCaching(mapOptions)
+                .getMap(CSC_MAP_NAME, codecRegistry.codecFor(CSC_MAP_NAME));
+        RMap<String, String> replicaMap = replicaClient.getClientSideCaching(mapOptions)
+                .getMap(CSC_MAP_NAME, codecRegistry.codecFor(CSC_MAP_NAME));
+        return new ReplicaReadNearCacheMap(masterMap, replicaMap, replicationLagGuard::replicasUsable, meterRegistry);
+    }
+
+    /**
+     * 可选的带版本号的 CSC map，值以 "版本:值" 存储，固定使用 StringCodec 以便写入脚本直接拼接。
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "near-cache.versioned", name = "enabled", havingValue = "true")
+    public VersionedNearCacheMap scenarioVersionedNearCacheMap(RedissonClient client,
+                                                               VersionedNearCacheProperties properties,
+                                                               MeterRegistry meterRegistry) {
+        ClientSideCachingOptions mapOptions = ClientSideCachingOptions.defaults()
+                .size(1024)
+                .timeToLive(Duration.ofMinutes(5))
+                .maxIdle(Duration.ofMinutes(2));
+        RMap<String, String> cscMap = client.getClientSideCaching(mapOptions).getMap(VERSIONED_MAP_NAME, StringCodec.INSTANCE);
+        log.info("[ScenarioNearCacheConfig] versioned near cache enabled, maxUncheckedAge={} versionSlots={}",
+                properties.getMaxUncheckedAge(), properties.getVersionSlots());
+        return new VersionedNearCacheMap(client, cscMap, properties.getVersionSlots(),
+                properties.getMaxUncheckedAge(), properties.getTrackedKeys(), meterRegistry);
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "near-cache.versioned", name = "enabled", havingValue = "true")
+    public VersionedNearCacheBucket scenarioVersionedNearCacheBucket(RedissonClient client,
+                                                                     VersionedNearCacheProperties properties,
+                                                                     MeterRegistry meterRegistry) {
+        ClientSideCachingOptions bucketOptions = ClientSideCachingOptions.defaults()
+                .size(512)
+                .timeToLive(Duration.ofMinutes(2))
+                .maxIdle(Duration.ofMinutes(5));
+        RBucket<String> cscBucket = client.getClientSideCaching(bucketOptions).getBucket(VERSIONED_BUCKET_NAME, StringCodec.INSTANCE);
+        return new VersionedNearCacheBucket(client, cscBucket, properties.getMaxUncheckedAge(), meterRegistry);
+    }
+
+    /**
+     * 分片布局的 CSC map，任意 field 变化只清空所在分片的本地缓存。
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "near-cache.sharded", name = "enabled", havingValue = "true")
+    public ShardedNearCacheMap scenarioShardedNearCacheMap(RedissonClient client,
+                                                           CscCodecRegistry codecRegistry,
+                                                           ShardedNearCacheProperties properties) {
+        ClientSideCachingOptions mapOptions = ClientSideCachingOptions.defaults()
+                .size(1024)
+                .timeToLive(Duration.ofMinutes(5))
+                .maxIdle(Duration.ofMinutes(2));
+        RClientSideCaching csc = client.getClientSideCaching(mapOptions);
+        ShardedNearCacheMap map = new ShardedNearCacheMap(csc, SHARDED_MAP_NAME, properties.getShards(),
+                codecRegistry.codecFor(SHARDED_MAP_NAME));
+        log.info("[ScenarioNearCacheConfig] sharded near cache enabled, shards={}", map.shardCount());
+        return map;
+    }
+
 }
@@ -0,0 +1,46 @@
+package com.github.jwxa.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 场景逐步回放配置。
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "scenario.playback")
+public class ScenarioPlaybackProperties {
+
+    /**
+     * 每个会话缓冲的未取走步骤数，缓冲满后场景线程阻塞，直到前端取走步骤
+     */
+    private int queueCapacity = 16;
+
+    /**
+     * next 在没有新步骤时最多等待的时长，超时返回空步骤且 completed=false
+     */
+    private Duration nextWait = Duration.ofSeconds(2);
+
+    /**
+     * 缓冲已满且前端长时间不来取时，放弃执行剩余场景
+     */
+    private Duration stallTimeout = Duration.ofMinutes(5);
+
+    /**
+     * 会话超过该时长没有被 next 访问即视为放弃，关闭会话并停止场景
+     */
+    private Duration idleTimeout = Duration.ofMinutes(2);
+
+    /**
+     * 会话从创建起的最长存活时间，无论是否仍在访问
+     */
+    private Duration maxLifetime = Duration.ofMinutes(30);
+
+    /**
+     * 所有会话未取走的步骤数之和的上限（每个会话不超过 queueCapacity），超出时淘汰会话
+     */
+    private long maxBufferedSteps = 1024;
+}
@@ -0,0 +1,30 @@
+package com.github.jwxa.config;
+
+import com.github.jwxa.cache.ClusterSlots;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 分片 CSC map 配置。
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "near-cache.sharded")
+public class ShardedNearCacheProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * 分片数，一次写入只清空 1/shards 的本地缓存；取值 [2, 16384]，每个分片至少要占一个 slot
+     */
+    private int shards = 8;
+
+    public void setShards(int shards) {
+        if (shards < 2 || shards > ClusterSlots.SLOT_COUNT) {
+            throw new IllegalArgumentException("near-cache.sharded.shards must be within [2, "
+                    + ClusterSlots.SLOT_COUNT + "], got " + shards);
+        }
+        this.shards = shards;
+    }
+}
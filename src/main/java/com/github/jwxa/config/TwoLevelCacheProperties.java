@@ -0,0 +1,141 @@
+package com.github.jwxa.config;
+
+import com.github.jwxa.cache.SingleFlightLoader;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 两级缓存（L1 Caffeine + L2 Redis）配置。
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "cache.two-level")
+public class TwoLevelCacheProperties {
+
+    /**
+     * 本地一级缓存写入后过期时间
+     */
+    private Duration localExpireAfterWrite = Duration.ofSeconds(10);
+
+    /**
+     * 本地一级缓存最大条目数
+     */
+    private long localMaximumSize = 1000;
+
+    /**
+     * Redis 二级缓存过期时间
+     */
+    private Duration remoteTtl = Duration.ofHours(1);
+
+    /**
+     * 跨节点 L1 失效广播使用的 topic
+     */
+    private String invalidationTopic = "cache:two-level:invalidation";
+
+    /**
+     * 未命中时的回源合并方式：NONE / LOCAL（单 JVM）/ CLUSTER（Redisson 分布式锁）
+     */
+    private SingleFlightLoader.Mode coalescing = SingleFlightLoader.Mode.LOCAL;
+
+    /**
+     * CLUSTER 模式下等待分布式锁的最长时间，超时后直接回源
+     */
+    private Duration clusterLockWait = Duration.ofSeconds(3);
+
+    /**
+     * CLUSTER 模式下分布式锁的租期，防止持锁节点宕机后锁不释放
+     */
+    private Duration clusterLockLease = Duration.ofSeconds(10);
+
+    /**
+     * 异步刷新（refresh-ahead）使用的有界线程池
+     */
+    private RefreshExecutor refreshExecutor = new RefreshExecutor();
+
+    /**
+     * 热点 key 探测与 L1 钉住
+     */
+    private HotKeys hotKeys = new HotKeys();
+
+    /**
+     * 按 cacheName 覆盖的 L1 策略，未配置的 cacheName 使用上面的默认过期策略
+     */
+    private Map<String, LocalCachePolicy> caches = new LinkedHashMap<>();
+
+    public LocalCachePolicy policyFor(String cacheName) {
+        LocalCachePolicy configured = caches.get(cacheName);
+        LocalCachePolicy policy = new LocalCachePolicy();
+        policy.setMode(configured == null || configured.getMode() == null ? LocalCacheMode.EXPIRE : configured.getMode());
+        policy.setExpireAfterWrite(configured == null || configured.getExpireAfterWrite() == null
+                ? localExpireAfterWrite : configured.getExpireAfterWrite());
+        policy.setRefreshAfterWrite(configured == null ? null : configured.getRefreshAfterWrite());
+        policy.setMaximumSize(configured == null || configured.getMaximumSize() == null
+                ? localMaximumSize : configured.getMaximumSize());
+        if (policy.getMode() == LocalCacheMode.REFRESH) {
+            if (policy.getRefreshAfterWrite() == null) {
+                throw new IllegalStateException("refreshAfterWrite is required for REFRESH cache " + cacheName);
+            }
+            if (policy.getRefreshAfterWrite().compareTo(policy.getExpireAfterWrite()) >= 0) {
+                throw new IllegalStateException("refreshAfterWrite must be shorter than expireAfterWrite for cache " + cacheName);
+            }
+        }
+        return policy;
+    }
+
+    public enum LocalCacheMode {
+        /**
+         * 到期后同步失效，下一次读取走 L2/回源
+         */
+        EXPIRE,
+        /**
+         * 到达 refreshAfterWrite 后异步从 L2 重新加载，加载期间继续返回旧值；expireAfterWrite 作为硬上限
+         */
+        REFRESH
+    }
+
+    @Data
+    public static class LocalCachePolicy {
+        private LocalCacheMode mode;
+        private Duration expireAfterWrite;
+        private Duration refreshAfterWrite;
+        private Long maximumSize;
+    }
+
+    @Data
+    public static class RefreshExecutor {
+        private int threads = 2;
+        private int queueCapacity = 1000;
+    }
+
+    @Data
+    public static class HotKeys {
+        private boolean enabled = false;
+        /**
+         * 每个 cache 跟踪的候选热 key 数
+         */
+        private int topK = 20;
+        /**
+         * 最多钉在 L1 中的热 key 数，钉住的条目不参与容量淘汰，并由后台定期从 L2 刷新
+         */
+        private int pinCount = 10;
+        /**
+         * 估计读取次数达到该值才会被钉住，避免流量很低时把偶然的 key 钉住
+         */
+        private long minPinCount = 50;
+        /**
+         * 钉住集合的重新计算与刷新周期
+         */
+        private Duration refreshInterval = Duration.ofSeconds(5);
+        /**
+         * 频率减半的周期，决定热点统计跟随流量变化的速度
+         */
+        private Duration decayInterval = Duration.ofSeconds(30);
+        private int sketchWidth = 4096;
+        private int sketchDepth = 4;
+    }
+}
@@ -0,0 +1,33 @@
+package com.github.jwxa.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 带版本号的 CSC 结构配置。
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "near-cache.versioned")
+public class VersionedNearCacheProperties {
+
+    private boolean enabled = false;
+
+    /**
+     * 本地命中距上次版本校验不超过该时长时直接返回，也就是本地旧值可能被读到的最长时间
+     */
+    private Duration maxUncheckedAge = Duration.ofMillis(500);
+
+    /**
+     * 版本 hash 的 field 数，key 的 cluster slot 对其取模；越小越省内存，误报回源越多
+     */
+    private int versionSlots = 1024;
+
+    /**
+     * 本地记录校验结果的 key 上限
+     */
+    private long trackedKeys = 4096;
+}
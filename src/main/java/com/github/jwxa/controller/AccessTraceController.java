@@ -0,0 +1,58 @@
+package com.github.jwxa.controller;
+
+import com.github.jwxa.cache.AccessTraceRecorder;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * 导出 {@link AccessTraceRecorder} 录制的访问轨迹，记录格式见该类注释。
+ */
+@Slf4j
+@RestController
+@RequestMapping("/access-trace")
+@RequiredArgsConstructor
+public class AccessTraceController {
+
+    private final AccessTraceRecorder accessTraceRecorder;
+
+    @GetMapping
+    public Map<String, Object> describe() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", accessTraceRecorder.isEnabled());
+        result.put("recordSize", AccessTraceRecorder.RECORD_SIZE);
+        result.put("sources", accessTraceRecorder.sources());
+        result.put("outcomes", List.of(AccessTraceRecorder.Outcome.values()));
+        return result;
+    }
+
+    /**
+     * 以二进制流返回全部记录（旧记录在前），来源编号与名称的对应关系放在 X-Access-Trace-Sources 头中。
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export() {
+        List<String> sources = accessTraceRecorder.sources();
+        String sourceHeader = IntStream.range(0, sources.size())
+                .mapToObj(i -> i + "=" + sources.get(i))
+                .collect(Collectors.joining(","));
+        log.info("[AccessTrace] export requested, sources={}", sourceHeader);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"access-trace.bin\"")
+                .header("X-Access-Trace-Record-Size", String.valueOf(AccessTraceRecorder.RECORD_SIZE))
+                .header("X-Access-Trace-Sources", sourceHeader)
+                .body(accessTraceRecorder::export);
+    }
+}
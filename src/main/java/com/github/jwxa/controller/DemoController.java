@@ -1,5 +1,6 @@
 package com.github.jwxa.controller;
 
+import com.github.jwxa.cache.AccessTraceRecorder;
 import com.github.jwxa.service.DemoService;
 import lombok.extern.slf4j.Slf4j;
 import org.redisson.api.RBucket;
@@ -15,13 +16,17 @@ import org.springframework.web.bind.annotation.RestController;
 public class DemoController {
 
     private final DemoService demoService;
+    private final AccessTraceRecorder accessTraceRecorder;
+    private final int cscTraceSource;
 
     @Autowired
     private RBucket<Object> demoBucket;
 
 
-    public DemoController(DemoService demoService) {
+    public DemoController(DemoService demoService, AccessTraceRecorder accessTraceRecorder) {
         this.demoService = demoService;
+        this.accessTraceRecorder = accessTraceRecorder;
+        this.cscTraceSource = accessTraceRecorder.source("csc:demoBucket");
     }
 
     @GetMapping("/get")
@@ -33,6 +38,9 @@ public class DemoController {
     @GetMapping("/cscGet")
     public String cscGet() {
         String s = (String) demoBucket.get();
+        // CSC 不暴露本地命中与否，记为 UNKNOWN
+        accessTraceRecorder.record(cscTraceSource, demoBucket.getName(), AccessTraceRecorder.Outcome.UNKNOWN,
+                s == null ? -1 : s.length());
         log.info("[RBucket] GET value={}", s);
         return s;
     }
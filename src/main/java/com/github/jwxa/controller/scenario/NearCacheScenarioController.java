@@ -53,12 +53,36 @@ public class NearCacheScenarioController {
         return scenarioService.simulateEventStorm(request);
     }
 
+    @PostMapping("/near-cache/sharded-layout")
+    public ScenarioReport compareShardedLayout(@RequestBody ShardedLayoutRequest request) {
+        log.info("[ScenarioController] compare sharded CSC layout, shards={}", request.shards());
+        return scenarioService.compareShardedLayout(request);
+    }
+
+    @PostMapping("/near-cache/bulk-read")
+    public ScenarioReport compareBulkRead(@RequestBody BulkReadRequest request) {
+        log.info("[ScenarioController] compare bulk read, keyCount={}", request.keyCount());
+        return scenarioService.compareBulkRead(request);
+    }
+
+    @PostMapping("/near-cache/eviction-policies")
+    public ScenarioReport compareEvictionPolicies(@RequestBody EvictionComparisonRequest request) {
+        log.info("[ScenarioController] compare eviction policies, trace={}", request.trace());
+        return scenarioService.compareEvictionPolicies(request);
+    }
+
     @PostMapping("/cluster/topology")
     public ScenarioReport inspectClusterTopology() {
         log.info("[ScenarioController] inspect cluster topology snapshot");
         return scenarioService.inspectClusterTopology();
     }
 
+    @PostMapping("/cluster/bulk-routing")
+    public ScenarioReport compareBulkRouting(@RequestBody BulkRoutingRequest request) {
+        log.info("[ScenarioController] compare slot-aware bulk routing, keyCount={}", request.keyCount());
+        return scenarioService.compareBulkRouting(request);
+    }
+
     @PostMapping("/cluster/replica-readiness")
     public ScenarioReport inspectReplicaReadiness() {
         log.info("[ScenarioController] inspect replica readiness");
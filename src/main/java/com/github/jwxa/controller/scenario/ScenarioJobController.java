@@ -0,0 +1,49 @@
+package com.github.jwxa.controller.scenario;
+
+import com.github.jwxa.scenario.job.ScenarioJobService;
+import com.github.jwxa.scenario.job.ScenarioJobSnapshot;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.Map;
+
+/**
+ * 后台场景任务：提交后立即返回 jobId，步骤通过 SSE 推送。
+ */
+@Slf4j
+@RestController
+@RequestMapping("/scenario/jobs")
+@RequiredArgsConstructor
+public class ScenarioJobController {
+
+    private final ScenarioJobService jobService;
+
+    @PostMapping
+    public ResponseEntity<ScenarioJobSnapshot> submit(@RequestBody ScenarioJobRequest request) {
+        log.info("[ScenarioJob] submit scenario {}", request.scenario());
+        return ResponseEntity.accepted().body(jobService.submit(request.scenario(), request.parameters()));
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<ScenarioJobSnapshot> find(@PathVariable String jobId) {
+        ScenarioJobSnapshot snapshot = jobService.find(jobId);
+        return snapshot == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(snapshot);
+    }
+
+    @GetMapping(value = "/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public ResponseEntity<SseEmitter> events(@PathVariable String jobId) {
+        SseEmitter emitter = jobService.subscribe(jobId);
+        return emitter == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(emitter);
+    }
+
+    @DeleteMapping("/{jobId}")
+    public ResponseEntity<Void> cancel(@PathVariable String jobId) {
+        return jobService.cancel(jobId) ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
+    }
+
+    public record ScenarioJobRequest(String scenario, Map<String, Object> parameters) {}
+}
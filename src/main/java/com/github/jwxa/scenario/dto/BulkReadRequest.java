@@ -0,0 +1,19 @@
+package com.github.jwxa.scenario.dto;
+
+/**
+ * Request payload for comparing per-key CSC reads with the local-first getAll path.
+ */
+public record BulkReadRequest(Integer keyCount,
+                              Integer extraKeys,
+                              Long awaitMillis) {
+
+    private static final int DEFAULT_KEY_COUNT = 100;
+    private static final int DEFAULT_EXTRA_KEYS = 25;
+    private static final long DEFAULT_AWAIT = 50L;
+
+    public BulkReadRequest {
+        keyCount = keyCount == null || keyCount <= 0 ? DEFAULT_KEY_COUNT : keyCount;
+        extraKeys = extraKeys == null || extraKeys < 0 ? DEFAULT_EXTRA_KEYS : extraKeys;
+        awaitMillis = awaitMillis == null || awaitMillis < 0 ? DEFAULT_AWAIT : awaitMillis;
+    }
+}
@@ -0,0 +1,22 @@
+package com.github.jwxa.scenario.dto;
+
+/**
+ * Request payload for comparing naive per-key bucket reads with slot-aware per-node batches.
+ */
+public record BulkRoutingRequest(String prefix,
+                                 Integer keyCount,
+                                 Integer rounds,
+                                 Integer payloadSize) {
+
+    private static final String DEFAULT_PREFIX = "route:key";
+    private static final int DEFAULT_KEY_COUNT = 200;
+    private static final int DEFAULT_ROUNDS = 5;
+    private static final int DEFAULT_PAYLOAD_SIZE = 64;
+
+    public BulkRoutingRequest {
+        prefix = (prefix == null || prefix.isBlank()) ? DEFAULT_PREFIX : prefix;
+        keyCount = keyCount == null || keyCount <= 0 ? DEFAULT_KEY_COUNT : keyCount;
+        rounds = rounds == null || rounds <= 0 ? DEFAULT_ROUNDS : rounds;
+        payloadSize = payloadSize == null || payloadSize <= 0 ? DEFAULT_PAYLOAD_SIZE : payloadSize;
+    }
+}
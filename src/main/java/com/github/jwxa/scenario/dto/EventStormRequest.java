@@ -1,12 +1,30 @@
 package com.github.jwxa.scenario.dto;
 
+/**
+ * Request payload for the event storm scenario.
+ * <p>
+ * 只填 key/initialValue/iterations/pauseMillis 时是原来的单线程写入循环；
+ * 指定 writerThreads 或 readerThreads 后切换为并发压测模式，按 durationMillis 持续运行。
+ * 读写线程数各不超过 {@value #MAX_THREADS}，限速不超过 {@value #MAX_RATE_PER_SECOND}/s，
+ * 持续时间不超过 {@value #MAX_DURATION} 毫秒，超出直接拒绝。
+ */
 public record EventStormRequest(String key,
                                 String initialValue,
                                 Integer iterations,
-                                Long pauseMillis) {
+                                Long pauseMillis,
+                                Integer writerThreads,
+                                Integer readerThreads,
+                                Integer writeRatePerSecond,
+                                Integer readRatePerSecond,
+                                Long durationMillis,
+                                Boolean virtualThreads) {
 
     private static final int DEFAULT_ITERATIONS = 50;
     private static final long DEFAULT_PAUSE = 0L;
+    private static final long DEFAULT_DURATION = 10_000L;
+    private static final int MAX_THREADS = 64;
+    private static final int MAX_RATE_PER_SECOND = 100_000;
+    private static final long MAX_DURATION = 300_000L;
 
     public EventStormRequest {
         if (key == null || key.isBlank()) {
@@ -17,5 +35,30 @@ public record EventStormRequest(String key,
         }
         iterations = iterations == null || iterations <= 0 ? DEFAULT_ITERATIONS : iterations;
         pauseMillis = pauseMillis == null || pauseMillis < 0 ? DEFAULT_PAUSE : pauseMillis;
+        readerThreads = readerThreads == null || readerThreads < 0 ? 0 : readerThreads;
+        writerThreads = writerThreads == null || writerThreads < 0 ? 0 : writerThreads;
+        if (readerThreads > MAX_THREADS || writerThreads > MAX_THREADS) {
+            throw new IllegalArgumentException("writerThreads and readerThreads must not exceed " + MAX_THREADS);
+        }
+        if (readerThreads > 0 && writerThreads == 0) {
+            writerThreads = 1;
+        }
+        writeRatePerSecond = writeRatePerSecond == null || writeRatePerSecond < 0 ? 0 : writeRatePerSecond;
+        readRatePerSecond = readRatePerSecond == null || readRatePerSecond < 0 ? 0 : readRatePerSecond;
+        if (writeRatePerSecond > MAX_RATE_PER_SECOND || readRatePerSecond > MAX_RATE_PER_SECOND) {
+            throw new IllegalArgumentException("writeRatePerSecond and readRatePerSecond must not exceed " + MAX_RATE_PER_SECOND);
+        }
+        durationMillis = durationMillis == null || durationMillis <= 0 ? DEFAULT_DURATION : durationMillis;
+        if (durationMillis > MAX_DURATION) {
+            throw new IllegalArgumentException("durationMillis must not exceed " + MAX_DURATION);
+        }
+        virtualThreads = virtualThreads != null && virtualThreads;
+    }
+
+    /**
+     * 是否使用多线程压测模式（rate 为 0 表示不限速）。
+     */
+    public boolean concurrent() {
+        return writerThreads > 0;
     }
 }
@@ -0,0 +1,82 @@
+package com.github.jwxa.scenario.dto;
+
+import java.util.List;
+
+/**
+ * Request payload for replaying an access trace against each eviction policy.
+ * <p>
+ * trace 为 ZIPF / SCAN / LOOP 时按 keySpace、accesses 合成访问序列；为 KEYS 时直接回放请求中的 keys；
+ * 为 RECORDED 时回放访问轨迹录制器中最近的 accesses 条记录。
+ * 回放在服务进程内执行，keySpace、accesses、keys 与 cacheSizes 都有上限；measureFootprint 为 true 时每次回放前后各触发一次 GC
+ * 以估算内存占用，默认关闭。
+ */
+public record EvictionComparisonRequest(TraceType trace,
+                                        List<Integer> cacheSizes,
+                                        Integer keySpace,
+                                        Integer accesses,
+                                        Double zipfExponent,
+                                        List<String> keys,
+                                        Boolean measureFootprint) {
+
+    private static final int DEFAULT_KEY_SPACE = 10_000;
+    private static final int DEFAULT_ACCESSES = 200_000;
+    private static final double DEFAULT_ZIPF_EXPONENT = 0.99;
+    private static final List<Integer> DEFAULT_CACHE_SIZES = List.of(100, 1000);
+    public static final int MAX_KEY_SPACE = 1_000_000;
+    public static final int MAX_ACCESSES = 2_000_000;
+    public static final int MAX_CACHE_SIZE = 1_000_000;
+    public static final int MAX_CACHE_SIZES = 8;
+
+    public EvictionComparisonRequest {
+        trace = trace == null ? TraceType.ZIPF : trace;
+        cacheSizes = cacheSizes == null || cacheSizes.isEmpty()
+                ? DEFAULT_CACHE_SIZES
+                : cacheSizes.stream().filter(size -> size != null && size > 0).toList();
+        if (cacheSizes.isEmpty()) {
+            throw new IllegalArgumentException("cacheSizes must contain positive sizes");
+        }
+        if (cacheSizes.size() > MAX_CACHE_SIZES || cacheSizes.stream().anyMatch(size -> size > MAX_CACHE_SIZE)) {
+            throw new IllegalArgumentException("at most " + MAX_CACHE_SIZES + " cacheSizes, each <= " + MAX_CACHE_SIZE);
+        }
+        keySpace = keySpace == null || keySpace <= 0 ? DEFAULT_KEY_SPACE : keySpace;
+        accesses = accesses == null || accesses <= 0 ? DEFAULT_ACCESSES : accesses;
+        zipfExponent = zipfExponent == null || zipfExponent <= 0 ? DEFAULT_ZIPF_EXPONENT : zipfExponent;
+        if (keySpace > MAX_KEY_SPACE) {
+            throw new IllegalArgumentException("keySpace must be <= " + MAX_KEY_SPACE);
+        }
+        if (accesses > MAX_ACCESSES) {
+            throw new IllegalArgumentException("accesses must be <= " + MAX_ACCESSES);
+        }
+        keys = keys == null ? List.of() : keys;
+        if (trace == TraceType.KEYS && keys.isEmpty()) {
+            throw new IllegalArgumentException("keys must not be empty for KEYS trace");
+        }
+        if (keys.size() > MAX_ACCESSES) {
+            throw new IllegalArgumentException("keys must contain at most " + MAX_ACCESSES + " entries");
+        }
+        measureFootprint = measureFootprint != null && measureFootprint;
+    }
+
+    public enum TraceType {
+        /**
+         * 少量 key 占据大部分访问
+         */
+        ZIPF,
+        /**
+         * Zipf 热点访问中穿插整段顺序扫描，考验策略的抗扫描能力
+         */
+        SCAN,
+        /**
+         * 循环访问 keySpace 个 key，keySpace 大于缓存容量时 LRU 命中率为 0
+         */
+        LOOP,
+        /**
+         * 回放请求中给出的 key 序列
+         */
+        KEYS,
+        /**
+         * 回放 cache.access-trace 录制的真实访问
+         */
+        RECORDED
+    }
+}
@@ -0,0 +1,26 @@
+package com.github.jwxa.scenario.dto;
+
+import com.github.jwxa.cache.ClusterSlots;
+
+/**
+ * Request payload for comparing the single-map CSC layout with the sharded layout.
+ * <p>
+ * shards 限制在 [2, 16384]，每个分片至少要占一个 slot。
+ */
+public record ShardedLayoutRequest(Integer keyCount,
+                                   Integer shards,
+                                   Integer updates,
+                                   Long awaitMillis) {
+
+    private static final int DEFAULT_KEY_COUNT = 200;
+    private static final int DEFAULT_SHARDS = 8;
+    private static final int DEFAULT_UPDATES = 20;
+    private static final long DEFAULT_AWAIT = 50L;
+
+    public ShardedLayoutRequest {
+        keyCount = keyCount == null || keyCount <= 0 ? DEFAULT_KEY_COUNT : keyCount;
+        shards = shards == null || shards <= 1 ? DEFAULT_SHARDS : Math.min(shards, ClusterSlots.SLOT_COUNT);
+        updates = updates == null || updates <= 0 ? DEFAULT_UPDATES : updates;
+        awaitMillis = awaitMillis == null || awaitMillis < 0 ? DEFAULT_AWAIT : awaitMillis;
+    }
+}
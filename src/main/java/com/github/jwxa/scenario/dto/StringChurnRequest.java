@@ -1,16 +1,26 @@
 package com.github.jwxa.scenario.dto;
 
+/**
+ * Request payload for the string churn scenario.
+ * <p>
+ * mode 默认 SYNC（逐个 key 同步 SET）；BATCHED 使用按 slot 分组的 RBatch 流水线写入；COMPARE 依次跑两种模式并对比吞吐。
+ */
 public record StringChurnRequest(String prefix,
                                  Integer keyCount,
                                  Integer iterations,
                                  Integer payloadSize,
-                                 Long pauseMillis) {
+                                 Long pauseMillis,
+                                 Mode mode,
+                                 Integer batchSize,
+                                 Integer pipelineDepth) {
 
     private static final String DEFAULT_PREFIX = "load:key";
     private static final int DEFAULT_KEY_COUNT = 500;
     private static final int DEFAULT_ITERATIONS = 2000;
     private static final int DEFAULT_PAYLOAD_SIZE = 64;
     private static final long DEFAULT_PAUSE = 0L;
+    private static final int DEFAULT_BATCH_SIZE = 100;
+    private static final int DEFAULT_PIPELINE_DEPTH = 4;
 
     public StringChurnRequest {
         prefix = (prefix == null || prefix.isBlank()) ? DEFAULT_PREFIX : prefix;
@@ -18,5 +28,22 @@ public record StringChurnRequest(String prefix,
         iterations = iterations == null || iterations <= 0 ? DEFAULT_ITERATIONS : iterations;
         payloadSize = payloadSize == null || payloadSize <= 0 ? DEFAULT_PAYLOAD_SIZE : payloadSize;
         pauseMillis = pauseMillis == null || pauseMillis < 0 ? DEFAULT_PAUSE : pauseMillis;
+        mode = mode == null ? Mode.SYNC : mode;
+        batchSize = batchSize == null || batchSize <= 0 ? DEFAULT_BATCH_SIZE : batchSize;
+        pipelineDepth = pipelineDepth == null || pipelineDepth <= 0 ? DEFAULT_PIPELINE_DEPTH : pipelineDepth;
+    }
+
+    public boolean runsSync() {
+        return mode != Mode.BATCHED;
+    }
+
+    public boolean runsBatched() {
+        return mode != Mode.SYNC;
+    }
+
+    public enum Mode {
+        SYNC,
+        BATCHED,
+        COMPARE
     }
 }
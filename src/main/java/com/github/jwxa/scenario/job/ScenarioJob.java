@@ -0,0 +1,235 @@
+package com.github.jwxa.scenario.job;
+
+import com.github.jwxa.scenario.model.ScenarioReport;
+import com.github.jwxa.scenario.model.ScenarioStep;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Future;
+
+/**
+ * One background scenario run together with the SSE subscribers following it.
+ * <p>
+ * 步骤、状态变化与订阅都在同一把锁下处理，要发送的事件按顺序放进 outbox，释放锁后再发送，
+ * 慢客户端不会阻塞场景线程调用 {@link #onStep}；同一时刻只有一个线程在发送，事件按入队顺序送达。
+ * 新订阅者的补发步骤与后续事件在同一把锁下入队，不会漏也不会重复。
+ * 事件：step（{@link ScenarioStep}）、status（{@link ScenarioJobStatus}）、report（完成时的 {@link ScenarioReport}）、failure（失败原因）。
+ * 不用 error 作为事件名，避免与浏览器 EventSource 自身的连接错误事件混淆。
+ */
+@Slf4j
+public class ScenarioJob implements ScenarioListener {
+
+    private final String id;
+    private final String scenario;
+    private final Runnable onFinished;
+    private final Instant createdAt = Instant.now();
+    private final List<ScenarioStep> steps = new ArrayList<>();
+    private final List<SseEmitter> emitters = new ArrayList<>();
+    private final Deque<Outgoing> outbox = new ArrayDeque<>();
+    private boolean draining;
+    private volatile ScenarioJobStatus status = ScenarioJobStatus.PENDING;
+    private Instant startedAt;
+    private Instant finishedAt;
+    private ScenarioReport report;
+    private String error;
+    private Future<?> future;
+
+    /**
+     * @param onFinished 进入终态后调用（不持有任务锁），供任务存储重新计算权重与过期时间
+     */
+    public ScenarioJob(String id, String scenario, Runnable onFinished) {
+        this.id = id;
+        this.scenario = scenario;
+        this.onFinished = onFinished;
+    }
+
+    public String id() {
+        return id;
+    }
+
+    public boolean finished() {
+        return status.finished();
+    }
+
+    public synchronized ScenarioJobSnapshot snapshot() {
+        return new ScenarioJobSnapshot(id, scenario, status, createdAt, startedAt, finishedAt,
+                List.copyOf(steps), report, error);
+    }
+
+    public void subscribe(SseEmitter emitter) {
+        synchronized (this) {
+            for (ScenarioStep step : steps) {
+                enqueue(emitter, "step", step);
+            }
+            enqueue(emitter, "status", status);
+            if (status.finished()) {
+                enqueueTerminal(emitter);
+            } else {
+                emitters.add(emitter);
+                emitter.onCompletion(() -> unsubscribe(emitter));
+                emitter.onTimeout(() -> unsubscribe(emitter));
+            }
+        }
+        drain();
+    }
+
+    synchronized void attach(Future<?> future) {
+        this.future = future;
+    }
+
+    @Override
+    public boolean onStart() {
+        synchronized (this) {
+            if (status != ScenarioJobStatus.PENDING) {
+                return false;
+            }
+            startedAt = Instant.now();
+            transition(ScenarioJobStatus.RUNNING);
+        }
+        drain();
+        return true;
+    }
+
+    @Override
+    public void onStep(ScenarioStep step) {
+        synchronized (this) {
+            steps.add(step);
+            broadcast("step", step);
+        }
+        drain();
+    }
+
+    @Override
+    public void onComplete(ScenarioReport report) {
+        synchronized (this) {
+            if (status.finished()) {
+                return;
+            }
+            log.info("[ScenarioJob] job={} completed with {} steps", id, report.steps().size());
+            this.report = report;
+            finish(ScenarioJobStatus.COMPLETED);
+        }
+        afterFinish();
+    }
+
+    @Override
+    public void onFailure(Throwable cause) {
+        synchronized (this) {
+            if (status.finished()) {
+                return;
+            }
+            log.warn("[ScenarioJob] job={} failed", id, cause);
+            this.error = cause.getClass().getSimpleName() + ": " + cause.getMessage();
+            finish(ScenarioJobStatus.FAILED);
+        }
+        afterFinish();
+    }
+
+    boolean cancel() {
+        synchronized (this) {
+            if (status.finished()) {
+                return false;
+            }
+            if (future != null) {
+                future.cancel(true);
+            }
+            finish(ScenarioJobStatus.CANCELLED);
+        }
+        afterFinish();
+        return true;
+    }
+
+    private void finish(ScenarioJobStatus terminal) {
+        finishedAt = Instant.now();
+        transition(terminal);
+        for (SseEmitter emitter : emitters) {
+            enqueueTerminal(emitter);
+        }
+        emitters.clear();
+    }
+
+    private void afterFinish() {
+        drain();
+        onFinished.run();
+    }
+
+    private void transition(ScenarioJobStatus next) {
+        status = next;
+        broadcast("status", next);
+    }
+
+    private void enqueueTerminal(SseEmitter emitter) {
+        if (report != null) {
+            enqueue(emitter, "report", report);
+        }
+        if (error != null) {
+            enqueue(emitter, "failure", error);
+        }
+        outbox.addLast(new Outgoing(emitter, null));
+    }
+
+    private void broadcast(String event, Object data) {
+        for (SseEmitter emitter : emitters) {
+            enqueue(emitter, event, data);
+        }
+    }
+
+    private void enqueue(SseEmitter emitter, String event, Object data) {
+        outbox.addLast(new Outgoing(emitter, SseEmitter.event().name(event).data(data)));
+    }
+
+    /**
+     * 在锁外逐个发送 outbox 中的事件；已有线程在发送时直接返回，由它把新入队的事件一并发完。
+     */
+    private void drain() {
+        synchronized (this) {
+            if (draining) {
+                return;
+            }
+            draining = true;
+        }
+        while (true) {
+            Outgoing next;
+            synchronized (this) {
+                next = outbox.pollFirst();
+                if (next == null) {
+                    draining = false;
+                    return;
+                }
+            }
+            deliver(next);
+        }
+    }
+
+    private void deliver(Outgoing outgoing) {
+        SseEmitter emitter = outgoing.emitter();
+        try {
+            if (outgoing.event() == null) {
+                emitter.complete();
+            } else {
+                emitter.send(outgoing.event());
+            }
+        } catch (IOException | IllegalStateException e) {
+            // 客户端断开，不影响任务本身
+            log.debug("[ScenarioJob] drop subscriber of job={}: {}", id, e.getMessage());
+            unsubscribe(emitter);
+            emitter.completeWithError(e);
+        }
+    }
+
+    private synchronized void unsubscribe(SseEmitter emitter) {
+        emitters.remove(emitter);
+    }
+
+    /**
+     * event 为 null 表示发送完毕后关闭连接。
+     */
+    private record Outgoing(SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+    }
+}
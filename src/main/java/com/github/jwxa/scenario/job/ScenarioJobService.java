@@ -0,0 +1,107 @@
+package com.github.jwxa.scenario.job;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.jwxa.config.ScenarioJobProperties;
+import com.github.jwxa.scenario.model.ScenarioReport;
+import com.github.jwxa.scenario.service.ScenarioDispatcher;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Runs scenarios as background jobs so long drills do not hold servlet threads.
+ * <p>
+ * 执行与并发限制由 {@link ScenarioRunner} 负责；任务记录保存在有界的 Caffeine 中，结束后保留 retention 时长。
+ * 排队与运行中的任务权重为 0 且不过期，只有已结束的任务参与 maxRetained 的容量淘汰。
+ */
+@Slf4j
+@Service
+public class ScenarioJobService {
+
+    private final ScenarioDispatcher scenarioDispatcher;
+    private final ScenarioRunner scenarioRunner;
+    private final ScenarioJobProperties properties;
+    private final Cache<String, ScenarioJob> jobs;
+
+    public ScenarioJobService(ScenarioDispatcher scenarioDispatcher,
+                              ScenarioRunner scenarioRunner,
+                              ScenarioJobProperties properties) {
+        this.scenarioDispatcher = scenarioDispatcher;
+        this.scenarioRunner = scenarioRunner;
+        this.properties = properties;
+        this.jobs = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaxRetained())
+                .weigher((String id, ScenarioJob job) -> job.finished() ? 1 : 0)
+                .expireAfter(new JobExpiry(properties.getRetention()))
+                .build();
+    }
+
+    /**
+     * 参数在调用线程上校验，非法参数直接抛出 IllegalArgumentException。
+     */
+    public ScenarioJobSnapshot submit(String scenario, Map<String, Object> parameters) {
+        Supplier<ScenarioReport> body = scenarioDispatcher.prepare(scenario, parameters);
+        String id = UUID.randomUUID().toString();
+        // 结束时重新写入同一个任务，让存储按终态重新计算权重与过期时间
+        ScenarioJob job = new ScenarioJob(id, scenario, () -> jobs.asMap().computeIfPresent(id, (key, current) -> current));
+        jobs.put(job.id(), job);
+        job.attach(scenarioRunner.launch(body, job));
+        log.info("[ScenarioJob] submitted job={} scenario={}", job.id(), scenario);
+        return job.snapshot();
+    }
+
+    public ScenarioJobSnapshot find(String jobId) {
+        ScenarioJob job = jobs.getIfPresent(jobId);
+        return job == null ? null : job.snapshot();
+    }
+
+    /**
+     * 订阅任务事件；任务不存在时返回 null。
+     */
+    public SseEmitter subscribe(String jobId) {
+        ScenarioJob job = jobs.getIfPresent(jobId);
+        if (job == null) {
+            return null;
+        }
+        SseEmitter emitter = new SseEmitter(properties.getSseTimeout().toMillis());
+        job.subscribe(emitter);
+        return emitter;
+    }
+
+    public boolean cancel(String jobId) {
+        ScenarioJob job = jobs.getIfPresent(jobId);
+        return job != null && job.cancel();
+    }
+
+    /**
+     * 未结束的任务不过期；结束后从最后一次访问起保留 retention。
+     */
+    private record JobExpiry(Duration retention) implements Expiry<String, ScenarioJob> {
+
+        @Override
+        public long expireAfterCreate(String id, ScenarioJob job, long currentTime) {
+            return expiry(job);
+        }
+
+        @Override
+        public long expireAfterUpdate(String id, ScenarioJob job, long currentTime, long currentDuration) {
+            return expiry(job);
+        }
+
+        @Override
+        public long expireAfterRead(String id, ScenarioJob job, long currentTime, long currentDuration) {
+            return expiry(job);
+        }
+
+        private long expiry(ScenarioJob job) {
+            return job.finished() ? retention.toNanos() : Long.MAX_VALUE;
+        }
+    }
+}
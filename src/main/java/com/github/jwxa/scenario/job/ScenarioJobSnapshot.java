@@ -0,0 +1,21 @@
+package com.github.jwxa.scenario.job;
+
+import com.github.jwxa.scenario.model.ScenarioReport;
+import com.github.jwxa.scenario.model.ScenarioStep;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Point-in-time view of a background scenario job; report is only set once the job completed.
+ */
+public record ScenarioJobSnapshot(String jobId,
+                                  String scenario,
+                                  ScenarioJobStatus status,
+                                  Instant createdAt,
+                                  Instant startedAt,
+                                  Instant finishedAt,
+                                  List<ScenarioStep> steps,
+                                  ScenarioReport report,
+                                  String error) {
+}
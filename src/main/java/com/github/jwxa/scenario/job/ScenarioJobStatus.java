@@ -0,0 +1,9 @@
+package com.github.jwxa.scenario.job;
+
+public enum ScenarioJobStatus {
+    PENDING, RUNNING, COMPLETED, FAILED, CANCELLED;
+
+    public boolean finished() {
+        return this == COMPLETED || this == FAILED || this == CANCELLED;
+    }
+}
@@ -0,0 +1,21 @@
+package com.github.jwxa.scenario.job;
+
+import com.github.jwxa.scenario.model.ScenarioReport;
+import com.github.jwxa.scenario.model.ScenarioStep;
+
+/**
+ * Callbacks for a scenario launched through {@link ScenarioRunner}, all invoked on the scenario's thread.
+ */
+public interface ScenarioListener {
+
+    /**
+     * 拿到运行许可后调用，返回 false 表示已取消，不再执行场景。
+     */
+    boolean onStart();
+
+    void onStep(ScenarioStep step);
+
+    void onComplete(ScenarioReport report);
+
+    void onFailure(Throwable cause);
+}
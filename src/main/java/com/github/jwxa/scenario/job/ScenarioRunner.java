@@ -0,0 +1,58 @@
+package com.github.jwxa.scenario.job;
+
+import com.github.jwxa.config.ScenarioJobProperties;
+import com.github.jwxa.scenario.model.ScenarioReport;
+import com.github.jwxa.scenario.service.ScenarioProgress;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * Executes scenarios off the servlet threads for background jobs and streaming playback.
+ * <p>
+ * 每个场景一个虚拟线程，场景里的 sleep 不占用平台线程；同时运行的场景数受 scenario.jobs.max-concurrent 限制，其余排队。
+ */
+@Component
+public class ScenarioRunner implements DisposableBean {
+
+    private final Semaphore permits;
+    private final ExecutorService executor;
+
+    public ScenarioRunner(ScenarioJobProperties properties) {
+        this.permits = new Semaphore(Math.max(1, properties.getMaxConcurrent()), true);
+        this.executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("scenario-job-", 0).factory());
+    }
+
+    public Future<?> launch(Supplier<ScenarioReport> body, ScenarioListener listener) {
+        return executor.submit(() -> run(body, listener));
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private void run(Supplier<ScenarioReport> body, ScenarioListener listener) {
+        try {
+            permits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        try {
+            if (!listener.onStart()) {
+                return;
+            }
+            listener.onComplete(ScenarioProgress.run(listener::onStep, body));
+        } catch (Exception e) {
+            listener.onFailure(e);
+        } finally {
+            permits.release();
+        }
+    }
+}
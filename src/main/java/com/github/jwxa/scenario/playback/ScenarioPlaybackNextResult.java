@@ -4,13 +4,18 @@ import com.github.jwxa.scenario.model.ScenarioStep;
 
 import java.util.Map;
 
+/**
+ * @param remainingSteps 已产生但尚未取走的步骤数
+ * @param totalSteps 场景结束后为报告的总步数，执行中为 -1
+ */
 public record ScenarioPlaybackNextResult(String scenarioCode,
                                          ScenarioStep step,
                                          int remainingSteps,
+                                         int totalSteps,
                                          boolean completed,
                                          Map<String, Object> context) {
 
     public static ScenarioPlaybackNextResult missing() {
-        return new ScenarioPlaybackNextResult(null, null, 0, true, Map.of());
+        return new ScenarioPlaybackNextResult(null, null, 0, -1, true, Map.of());
     }
 }
@@ -1,90 +1,154 @@
 package com.github.jwxa.scenario.playback;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.github.jwxa.scenario.dto.*;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.Scheduler;
+import com.github.jwxa.config.ScenarioPlaybackProperties;
+import com.github.jwxa.scenario.job.ScenarioRunner;
 import com.github.jwxa.scenario.model.ScenarioReport;
 import com.github.jwxa.scenario.model.ScenarioStep;
-import com.github.jwxa.scenario.service.NearCacheScenarioService;
-import lombok.RequiredArgsConstructor;
+import com.github.jwxa.scenario.service.ScenarioDispatcher;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.util.List;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
 import java.util.Map;
 import java.util.UUID;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
 
+/**
+ * Step-by-step playback sessions for the visualizer.
+ * <p>
+ * 会话存放在有界的 Caffeine 中：超过 idle-timeout 未访问、超过 max-lifetime 或所有会话未取走的步骤数超过 max-buffered-steps 时被淘汰，
+ * 淘汰时关闭会话并停止仍在执行的场景，释放其占用的运行许可。
+ */
+@Slf4j
 @Service
-@RequiredArgsConstructor
 public class ScenarioPlaybackService {
 
-    private final NearCacheScenarioService scenarioService;
-    private final ObjectMapper objectMapper;
-    private final Map<String, ScenarioPlaybackSession> sessions = new ConcurrentHashMap<>();
+    private final ScenarioDispatcher scenarioDispatcher;
+    private final ScenarioRunner scenarioRunner;
+    private final ScenarioPlaybackProperties properties;
+    private final Cache<String, ScenarioPlaybackSession> sessions;
 
+    public ScenarioPlaybackService(ScenarioDispatcher scenarioDispatcher,
+                                   ScenarioRunner scenarioRunner,
+                                   ScenarioPlaybackProperties properties,
+                                   MeterRegistry meterRegistry) {
+        this.scenarioDispatcher = scenarioDispatcher;
+        this.scenarioRunner = scenarioRunner;
+        this.properties = properties;
+        this.sessions = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaxBufferedSteps())
+                .weigher((String token, ScenarioPlaybackSession session) -> session.weight())
+                .expireAfter(new SessionExpiry(properties.getIdleTimeout(), properties.getMaxLifetime()))
+                // 主动触发过期，被放弃的会话不必等到下一次访问存储才关闭
+                .scheduler(Scheduler.systemScheduler())
+                .removalListener((String token, ScenarioPlaybackSession session, RemovalCause cause) -> {
+                    if (session != null) {
+                        session.close();
+                        if (cause.wasEvicted()) {
+                            log.info("[ScenarioPlayback] session {} of {} evicted: {}", token, session.scenarioCode(), cause);
+                        }
+                    }
+                })
+                .build();
+        Gauge.builder("scenario.playback.sessions", sessions, Cache::estimatedSize)
+                .description("Open scenario playback sessions")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 校验参数后在后台启动场景并立即返回，步骤由 {@link #next} 按产生顺序逐个取走；
+     * 启动时总步数未知，totalSteps 为 -1，场景结束后由 next 返回。
+     */
     public ScenarioPlaybackStartResult start(String scenario, Map<String, Object> parameters) {
-        ScenarioReport report = executeScenario(scenario, parameters);
-        List<ScenarioStep> steps = report.steps();
+        Supplier<ScenarioReport> body = scenarioDispatcher.prepare(scenario, parameters);
         String token = UUID.randomUUID().toString();
-        ScenarioPlaybackSession session = new ScenarioPlaybackSession(report.scenarioCode(), steps, report.context());
+        // 步骤入队或被取走后重新写入同一个会话，让存储按未取走的步骤数重新计算权重
+        ScenarioPlaybackSession session = new ScenarioPlaybackSession(scenario,
+                properties.getQueueCapacity(), properties.getStallTimeout(),
+                () -> sessions.asMap().computeIfPresent(token, (key, current) -> current));
         sessions.put(token, session);
+        session.attach(scenarioRunner.launch(body, session));
 
         return new ScenarioPlaybackStartResult(
                 token,
-                report.scenarioCode(),
-                report.context(),
-                session.total()
+                session.scenarioCode(),
+                session.context(),
+                -1
         );
     }
 
     public ScenarioPlaybackNextResult next(String token) {
-        ScenarioPlaybackSession session = sessions.get(token);
+        ScenarioPlaybackSession session = sessions.getIfPresent(token);
         if (session == null) {
             return ScenarioPlaybackNextResult.missing();
         }
-        ScenarioStep step = session.nextStep();
-        boolean completed = step == null;
+        ScenarioStep step;
+        try {
+            step = session.nextStep(properties.getNextWait());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            step = null;
+        }
+        boolean completed = step == null && session.completed();
         if (completed) {
-            sessions.remove(token);
+            sessions.invalidate(token);
+        }
+        Map<String, Object> context = session.context();
+        if (session.error() != null) {
+            context = new HashMap<>(context);
+            context.put("error", session.error());
         }
         return new ScenarioPlaybackNextResult(
                 session.scenarioCode(),
                 step,
                 session.remaining(),
+                session.totalSteps(),
                 completed,
-                session.context()
+                context
         );
     }
 
     public void reset(String token) {
-        sessions.remove(token);
+        sessions.invalidate(token);
     }
 
-    private ScenarioReport executeScenario(String scenario, Map<String, Object> parameters) {
-        return switch (scenario) {
-            case "invalidation" -> scenarioService.simulateNearCacheInvalidation(
-                    convert(parameters, NearCacheInvalidationRequest.class));
-            case "ttl-drift" -> scenarioService.simulateTtlDrift(
-                    convert(parameters, TtlDriftRequest.class));
-            case "near-cache-status" -> scenarioService.inspectNearCacheStatus(
-                    convert(parameters, NearCacheStatusRequest.class));
-            case "csc-state" -> scenarioService.inspectClientSideCachingState();
-            case "csc-warmup" -> scenarioService.warmupClientSideCaching(
-                    convert(parameters, ClientSideCachingWarmupRequest.class));
-            case "expire-policy" -> scenarioService.verifyExpirationPolicy(
-                    convert(parameters, ExpirationVerificationRequest.class));
-            case "event-storm" -> scenarioService.simulateEventStorm(
-                    convert(parameters, EventStormRequest.class));
-            case "cluster-topology" -> scenarioService.inspectClusterTopology();
-            case "replica-readiness" -> scenarioService.inspectReplicaReadiness();
-            case "string-churn" -> scenarioService.simulateStringChurn(
-                    convert(parameters, StringChurnRequest.class));
-            default -> throw new IllegalArgumentException("Unsupported scenario: " + scenario);
-        };
-    }
+    /**
+     * 每次读取都把过期时间推后 idleTimeout，但不超过创建时间 + maxLifetime；
+     * 步骤入队或被取走引起的重新写入不算访问，保持原有的过期时间。
+     */
+    private record SessionExpiry(Duration idleTimeout, Duration maxLifetime)
+            implements Expiry<String, ScenarioPlaybackSession> {
 
-    private <T> T convert(Map<String, Object> parameters, Class<T> target) {
-        return objectMapper.convertValue(parameters, target);
-    }
-}
+        @Override
+        public long expireAfterCreate(String token, ScenarioPlaybackSession session, long currentTime) {
+            return remaining(session);
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, ScenarioPlaybackSession session, long currentTime,
+                                      long currentDuration) {
+            return currentDuration;
+        }
 
+        @Override
+        public long expireAfterRead(String token, ScenarioPlaybackSession session, long currentTime,
+                                    long currentDuration) {
+            return remaining(session);
+        }
 
+        private long remaining(ScenarioPlaybackSession session) {
+            Duration age = Duration.between(session.createdAt(), Instant.now());
+            Duration left = maxLifetime.minus(age);
+            return Math.max(0, Math.min(idleTimeout.toNanos(), left.toNanos()));
+        }
+    }
+}
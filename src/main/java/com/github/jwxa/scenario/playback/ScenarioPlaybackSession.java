@@ -1,24 +1,48 @@
 package com.github.jwxa.scenario.playback;
 
+import com.github.jwxa.scenario.job.ScenarioListener;
+import com.github.jwxa.scenario.model.ScenarioReport;
 import com.github.jwxa.scenario.model.ScenarioStep;
 
+import java.time.Duration;
 import java.time.Instant;
-import java.util.List;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeoutException;
 
-public class ScenarioPlaybackSession {
+/**
+ * Collects the steps of one running scenario so the playback client can read them as they are produced.
+ * <p>
+ * 场景线程每产生一个步骤就放入会话的有界队列，前端调用 next 按顺序取走，取走后会话不再引用该步骤；
+ * 队列满时场景线程阻塞，直到前端取走步骤（背压），超过 stallTimeout 仍无人来取则放弃执行剩余场景。
+ * 注意场景本身仍会生成完整报告，报告中的步骤在场景结束前由场景线程持有，会话只限制自己缓冲的未发送步骤。
+ * 场景结束后 totalSteps 与 context 取自报告，此前 totalSteps 为 -1、context 为空 map。
+ */
+public class ScenarioPlaybackSession implements ScenarioListener {
 
-    private final String scenarioCode;
-    private final List<ScenarioStep> steps;
-    private final Map<String, Object> context;
+    private final Deque<ScenarioStep> pending = new ArrayDeque<>();
+    private final int capacity;
+    private final Duration stallTimeout;
     private final Instant createdAt;
-    private final AtomicInteger cursor = new AtomicInteger(0);
+    private final Runnable onChange;
+    private volatile String scenarioCode;
+    private volatile Map<String, Object> context = Map.of();
+    private volatile int totalSteps = -1;
+    private volatile boolean done;
+    private volatile String error;
+    private volatile Future<?> future;
 
-    public ScenarioPlaybackSession(String scenarioCode, List<ScenarioStep> steps, Map<String, Object> context) {
-        this.scenarioCode = scenarioCode;
-        this.steps = steps;
-        this.context = context;
+    /**
+     * @param onChange 步骤入队或被取走后调用（不持有会话锁），供会话存储按未发送步骤数重新计算权重
+     */
+    public ScenarioPlaybackSession(String scenario, int capacity, Duration stallTimeout, Runnable onChange) {
+        this.scenarioCode = scenario;
+        this.capacity = Math.max(1, capacity);
+        this.stallTimeout = stallTimeout;
+        this.onChange = onChange;
         this.createdAt = Instant.now();
     }
 
@@ -26,35 +50,133 @@ public class ScenarioPlaybackSession {
         return scenarioCode;
     }
 
-    public List<ScenarioStep> steps() {
-        return steps;
-    }
-
     public Map<String, Object> context() {
         return context;
     }
 
+    public int totalSteps() {
+        return totalSteps;
+    }
+
     public Instant createdAt() {
         return createdAt;
     }
 
-    public ScenarioStep nextStep() {
-        int index = cursor.getAndIncrement();
-        if (index >= steps.size()) {
-            return null;
+    public String error() {
+        return error;
+    }
+
+    void attach(Future<?> future) {
+        this.future = future;
+    }
+
+    /**
+     * 等待下一个步骤，最多等待 wait；返回 null 时通过 {@link #completed()} 区分「场景已结束」与「暂时没有新步骤」。
+     */
+    public ScenarioStep nextStep(Duration wait) throws InterruptedException {
+        ScenarioStep step;
+        synchronized (this) {
+            long deadline = System.nanoTime() + wait.toNanos();
+            while (pending.isEmpty() && !done) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    return null;
+                }
+                wait(Math.max(1, remaining / 1_000_000));
+            }
+            step = pending.pollFirst();
+            // 唤醒因队列已满而等待的场景线程
+            notifyAll();
+        }
+        if (step != null) {
+            onChange.run();
         }
-        return steps.get(index);
+        return step;
     }
 
-    public int remaining() {
-        return Math.max(steps.size() - cursor.get(), 0);
+    public synchronized boolean completed() {
+        return done && pending.isEmpty();
     }
 
-    public int total() {
-        return steps.size();
+    /**
+     * 已产生但尚未取走的步骤数。
+     */
+    public synchronized int remaining() {
+        return pending.size();
     }
 
-    public void reset() {
-        cursor.set(0);
+    /**
+     * 尚未取走的步骤数，用作会话存储的权重，不超过队列容量。
+     */
+    public synchronized int weight() {
+        return Math.max(1, pending.size());
+    }
+
+    /**
+     * 停止场景线程并丢弃已收集的步骤。
+     */
+    public void close() {
+        synchronized (this) {
+            done = true;
+            pending.clear();
+            notifyAll();
+        }
+        Future<?> running = future;
+        if (running != null) {
+            running.cancel(true);
+        }
+    }
+
+    @Override
+    public boolean onStart() {
+        return !done;
+    }
+
+    /**
+     * 队列满时阻塞场景线程；会话关闭或等待被中断时抛出 {@link CancellationException} 结束场景，
+     * 超过 stallTimeout 仍未腾出位置时抛出 {@link IllegalStateException}。
+     */
+    @Override
+    public void onStep(ScenarioStep step) {
+        synchronized (this) {
+            long deadline = System.nanoTime() + stallTimeout.toNanos();
+            while (pending.size() >= capacity && !done) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    throw new IllegalStateException("playback stalled",
+                            new TimeoutException("no step consumed within " + stallTimeout));
+                }
+                try {
+                    wait(Math.max(1, remaining / 1_000_000));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new CancellationException("playback session closed");
+                }
+            }
+            if (done) {
+                throw new CancellationException("playback session closed");
+            }
+            pending.addLast(step);
+            notifyAll();
+        }
+        onChange.run();
+    }
+
+    @Override
+    public synchronized void onComplete(ScenarioReport report) {
+        scenarioCode = report.scenarioCode();
+        context = report.context();
+        totalSteps = report.steps().size();
+        done = true;
+        notifyAll();
+    }
+
+    @Override
+    public synchronized void onFailure(Throwable cause) {
+        if (!(cause instanceof CancellationException)) {
+            error = cause.getClass().getSimpleName() + ": " + cause.getMessage();
+        }
+        done = true;
+        notifyAll();
     }
 }
@@ -0,0 +1,201 @@
+package com.github.jwxa.scenario.service;
+
+import com.github.jwxa.scenario.dto.EventStormRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.redisson.api.RMap;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Multi-threaded load generator behind the concurrent event-storm mode.
+ * <p>
+ * 每个写线程独占一个 field（key:w{i}），写入 "initialValue#版本号"，版本号按线程单调递增，写成功后记录为该 field 的已确认版本。
+ * 读线程随机挑一个 field 从 CSC 本地读取，读到的版本低于读开始前已确认的版本即记为一次脏读。
+ * 限速时延迟从「计划发出时间」开始计算，避免压测端自身卡顿掩盖服务端抖动（coordinated omission）。
+ */
+@Component
+@Slf4j
+public class EventStormLoadEngine {
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.SECONDS.toMicros(60);
+
+    public Map<String, Object> run(EventStormRequest request,
+                                   RMap<String, String> localMap,
+                                   RMap<String, String> remoteMap) {
+        int writers = request.writerThreads();
+        int readers = request.readerThreads();
+        List<String> fields = new ArrayList<>(writers);
+        for (int i = 0; i < writers; i++) {
+            String field = request.key() + ":w" + i;
+            fields.add(field);
+            remoteMap.put(field, request.initialValue() + "#0");
+            localMap.get(field);
+        }
+
+        AtomicLongArray committed = new AtomicLongArray(writers);
+        Recorder writeLatency = new Recorder(HIGHEST_TRACKABLE_MICROS, 3);
+        Recorder readLatency = new Recorder(HIGHEST_TRACKABLE_MICROS, 3);
+        LongAdder writes = new LongAdder();
+        LongAdder reads = new LongAdder();
+        LongAdder localMisses = new LongAdder();
+        LongAdder staleReads = new LongAdder();
+        LongAdder errors = new LongAdder();
+        AtomicLong maxVersionLag = new AtomicLong();
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(request.durationMillis());
+        long writeIntervalNanos = intervalNanos(request.writeRatePerSecond(), writers);
+        long readIntervalNanos = intervalNanos(request.readRatePerSecond(), readers);
+
+        List<Future<?>> futures = new ArrayList<>();
+        long start = System.nanoTime();
+        try (ExecutorService executor = request.virtualThreads()
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(writers + readers)) {
+            for (int w = 0; w < writers; w++) {
+                int index = w;
+                futures.add(executor.submit(() -> {
+                    String field = fields.get(index);
+                    long version = 0;
+                    long intended = System.nanoTime();
+                    while (intended < deadline) {
+                        long begin = System.nanoTime();
+                        long latencyStart = writeIntervalNanos > 0 ? intended : begin;
+                        version++;
+                        try {
+                            remoteMap.fastPut(field, request.initialValue() + "#" + version);
+                            committed.set(index, version);
+                            writes.increment();
+                        } catch (Exception e) {
+                            errors.increment();
+                        }
+                        writeLatency.recordValue(Math.min(micros(System.nanoTime() - latencyStart), HIGHEST_TRACKABLE_MICROS));
+                        intended = pace(intended, writeIntervalNanos);
+                    }
+                }));
+            }
+            for (int r = 0; r < readers; r++) {
+                futures.add(executor.submit(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    long intended = System.nanoTime();
+                    while (intended < deadline) {
+                        int index = random.nextInt(writers);
+                        long expected = committed.get(index);
+                        long begin = System.nanoTime();
+                        long latencyStart = readIntervalNanos > 0 ? intended : begin;
+                        try {
+                            String value = localMap.get(fields.get(index));
+                            reads.increment();
+                            if (value == null) {
+                                localMisses.increment();
+                            } else {
+                                long lag = expected - parseVersion(value);
+                                if (lag > 0) {
+                                    staleReads.increment();
+                                    maxVersionLag.accumulateAndGet(lag, Math::max);
+                                }
+                            }
+                        } catch (Exception e) {
+                            errors.increment();
+                        }
+                        readLatency.recordValue(Math.min(micros(System.nanoTime() - latencyStart), HIGHEST_TRACKABLE_MICROS));
+                        intended = pace(intended, readIntervalNanos);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("Interrupted while running concurrent event storm", e);
+        } catch (Exception e) {
+            log.warn("Concurrent event storm worker failed", e);
+        }
+        double elapsedSeconds = (System.nanoTime() - start) / 1_000_000_000.0;
+
+        Map<String, Object> result = new HashMap<>();
+        result.put("writerThreads", writers);
+        result.put("readerThreads", readers);
+        result.put("virtualThreads", request.virtualThreads());
+        result.put("elapsedMillis", elapsedSeconds * 1000);
+        result.put("writes", writes.sum());
+        result.put("reads", reads.sum());
+        result.put("errors", errors.sum());
+        result.put("writeOpsPerSecond", writes.sum() / elapsedSeconds);
+        result.put("readOpsPerSecond", reads.sum() / elapsedSeconds);
+        result.put("writeLatencyMicros", percentiles(writeLatency.getIntervalHistogram()));
+        result.put("readLatencyMicros", percentiles(readLatency.getIntervalHistogram()));
+        result.put("localMisses", localMisses.sum());
+        result.put("staleReads", staleReads.sum());
+        result.put("stalenessRate", reads.sum() == 0 ? 0.0 : (double) staleReads.sum() / reads.sum());
+        result.put("maxVersionLag", maxVersionLag.get());
+        return result;
+    }
+
+    private long intervalNanos(int ratePerSecond, int threads) {
+        if (ratePerSecond <= 0 || threads <= 0) {
+            return 0;
+        }
+        return TimeUnit.SECONDS.toNanos(1) * threads / ratePerSecond;
+    }
+
+    /**
+     * 按固定节奏推进下一次计划时间；未限速时直接取当前时间。
+     */
+    private long pace(long intended, long intervalNanos) {
+        if (intervalNanos <= 0) {
+            return System.nanoTime();
+        }
+        long next = intended + intervalNanos;
+        long sleepNanos = next - System.nanoTime();
+        if (sleepNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(sleepNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return Long.MAX_VALUE;
+            }
+        }
+        return next;
+    }
+
+    private long parseVersion(String value) {
+        int index = value.lastIndexOf('#');
+        if (index < 0) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(value.substring(index + 1));
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+
+    private long micros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+
+    private Map<String, Object> percentiles(Histogram histogram) {
+        Map<String, Object> summary = new HashMap<>();
+        summary.put("count", histogram.getTotalCount());
+        summary.put("p50", histogram.getValueAtPercentile(50));
+        summary.put("p99", histogram.getValueAtPercentile(99));
+        summary.put("p999", histogram.getValueAtPercentile(99.9));
+        summary.put("max", histogram.getMaxValue());
+        return summary;
+    }
+}
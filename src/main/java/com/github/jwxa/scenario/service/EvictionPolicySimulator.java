@@ -0,0 +1,248 @@
+package com.github.jwxa.scenario.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.jwxa.cache.AccessTraceRecorder;
+import com.github.jwxa.scenario.dto.EvictionComparisonRequest;
+import org.redisson.cache.LFUCacheMap;
+import org.redisson.cache.LRUCacheMap;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Reference;
+import java.lang.management.MemoryMXBean;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Replays an access trace against the eviction policies available to the near cache.
+ * <p>
+ * LRU / LFU 直接使用 Redisson CSC 内部的 {@link LRUCacheMap} / {@link LFUCacheMap}，与
+ * {@code ClientSideCachingOptions.EvictionPolicy} 对应的实现一致；W-TinyLFU 使用 Caffeine 的 maximumSize。
+ * 回放完全在本地进行（未命中即写入），不访问 Redis，因此命中率只取决于策略与容量。
+ * 只有请求开启 measureFootprint 时才在回放前后触发 GC，以堆使用量之差近似内存占用；默认不测量，避免在服务进程内频繁 Full GC。
+ * trace 为 RECORDED 时回放 {@link AccessTraceRecorder} 录制的最近 accesses 条真实访问。
+ */
+@Component
+public class EvictionPolicySimulator {
+
+    private static final String[] POLICIES = {"LRU", "LFU", "W_TINY_LFU"};
+    private static final Object VALUE = Boolean.TRUE;
+
+    private final AccessTraceRecorder accessTraceRecorder;
+
+    public EvictionPolicySimulator(AccessTraceRecorder accessTraceRecorder) {
+        this.accessTraceRecorder = accessTraceRecorder;
+    }
+
+    public Result run(EvictionComparisonRequest request) {
+        String[] trace = trace(request);
+        Map<Integer, Map<String, Object>> bySize = new LinkedHashMap<>();
+        for (int cacheSize : request.cacheSizes()) {
+            Map<String, Object> perPolicy = new LinkedHashMap<>();
+            for (String policy : POLICIES) {
+                perPolicy.put(policy, replay(policy, cacheSize, trace, request.measureFootprint()));
+            }
+            bySize.put(cacheSize, perPolicy);
+        }
+        return new Result(trace.length, Arrays.stream(trace).distinct().count(), bySize);
+    }
+
+    public List<String> policies() {
+        return List.of(POLICIES);
+    }
+
+    private Map<String, Object> replay(String policy, int cacheSize, String[] trace, boolean measureFootprint) {
+        MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+        long heapBefore = 0;
+        if (measureFootprint) {
+            memory.gc();
+            heapBefore = memory.getHeapMemoryUsage().getUsed();
+        }
+
+        PolicyCache cache = create(policy, cacheSize);
+        long hits = 0;
+        long start = System.nanoTime();
+        for (String key : trace) {
+            if (cache.get(key) != null) {
+                hits++;
+            } else {
+                cache.put(key);
+            }
+        }
+        long durationNanos = System.nanoTime() - start;
+
+        Map<String, Object> result = new HashMap<>();
+        if (measureFootprint) {
+            memory.gc();
+            result.put("footprintBytes", Math.max(0, memory.getHeapMemoryUsage().getUsed() - heapBefore));
+        }
+        long entries = cache.size();
+        // 保证 cache 在第二次测量时仍可达
+        Reference.reachabilityFence(cache);
+        result.put("hitRatio", (double) hits / trace.length);
+        result.put("opsPerSecond", durationNanos == 0 ? 0.0 : trace.length * 1_000_000_000.0 / durationNanos);
+        result.put("entries", entries);
+        return result;
+    }
+
+    /**
+     * 取录制轨迹中最近的 limit 条记录，key 为「来源编号:key 哈希」。
+     */
+    private String[] recordedTrace(int limit) {
+        long[] hashes = new long[limit];
+        int[] sources = new int[limit];
+        long[] count = new long[1];
+        try {
+            accessTraceRecorder.forEachRecord((epochMillis, keyHash, valueSize, source, outcome) -> {
+                int slot = (int) (count[0]++ % limit);
+                hashes[slot] = keyHash;
+                sources[slot] = source;
+            });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read access trace", e);
+        }
+        if (count[0] == 0) {
+            throw new IllegalArgumentException("no recorded accesses, enable cache.access-trace first");
+        }
+        int length = (int) Math.min(count[0], limit);
+        int first = count[0] > limit ? (int) (count[0] % limit) : 0;
+        String[] trace = new String[length];
+        for (int i = 0; i < length; i++) {
+            int slot = (first + i) % limit;
+            trace[i] = sources[slot] + ":" + Long.toHexString(hashes[slot]);
+        }
+        return trace;
+    }
+
+    private PolicyCache create(String policy, int cacheSize) {
+        return switch (policy) {
+            case "LRU" -> new MapPolicyCache(new LRUCacheMap<>(cacheSize, 0, 0));
+            case "LFU" -> new MapPolicyCache(new LFUCacheMap<>(cacheSize, 0, 0));
+            default -> {
+                // 同步执行维护任务，淘汰结果不受后台线程调度影响
+                Cache<String, Object> caffeine = Caffeine.newBuilder()
+                        .maximumSize(cacheSize)
+                        .executor(Runnable::run)
+                        .build();
+                yield new PolicyCache() {
+                    @Override
+                    public Object get(String key) {
+                        return caffeine.getIfPresent(key);
+                    }
+
+                    @Override
+                    public void put(String key) {
+                        caffeine.put(key, VALUE);
+                    }
+
+                    @Override
+                    public long size() {
+                        caffeine.cleanUp();
+                        return caffeine.estimatedSize();
+                    }
+                };
+            }
+        };
+    }
+
+    private String[] trace(EvictionComparisonRequest request) {
+        if (request.trace() == EvictionComparisonRequest.TraceType.KEYS) {
+            return request.keys().toArray(new String[0]);
+        }
+        if (request.trace() == EvictionComparisonRequest.TraceType.RECORDED) {
+            return recordedTrace(request.accesses());
+        }
+        int keySpace = request.keySpace();
+        String[] names = new String[keySpace];
+        for (int i = 0; i < keySpace; i++) {
+            names[i] = "key:" + i;
+        }
+        // 固定种子，各策略、各次运行回放同一序列
+        SplittableRandom random = new SplittableRandom(42);
+        String[] trace = new String[request.accesses()];
+        switch (request.trace()) {
+            case LOOP -> {
+                for (int i = 0; i < trace.length; i++) {
+                    trace[i] = names[i % keySpace];
+                }
+            }
+            case SCAN -> {
+                double[] cdf = zipfCdf(keySpace, request.zipfExponent());
+                int scanLength = Math.max(1, keySpace / 2);
+                int i = 0;
+                while (i < trace.length) {
+                    // 每 4 * scanLength 次热点访问后插入一段长度为 scanLength 的顺序扫描
+                    for (int j = 0; j < scanLength * 4 && i < trace.length; j++) {
+                        trace[i++] = names[sample(cdf, random)];
+                    }
+                    int offset = random.nextInt(keySpace);
+                    for (int j = 0; j < scanLength && i < trace.length; j++) {
+                        trace[i++] = names[(offset + j) % keySpace];
+                    }
+                }
+            }
+            default -> {
+                double[] cdf = zipfCdf(keySpace, request.zipfExponent());
+                for (int i = 0; i < trace.length; i++) {
+                    trace[i] = names[sample(cdf, random)];
+                }
+            }
+        }
+        return trace;
+    }
+
+    private double[] zipfCdf(int keySpace, double exponent) {
+        double[] cdf = new double[keySpace];
+        double sum = 0;
+        for (int i = 0; i < keySpace; i++) {
+            sum += 1.0 / Math.pow(i + 1, exponent);
+            cdf[i] = sum;
+        }
+        for (int i = 0; i < keySpace; i++) {
+            cdf[i] /= sum;
+        }
+        return cdf;
+    }
+
+    private int sample(double[] cdf, SplittableRandom random) {
+        int index = Arrays.binarySearch(cdf, random.nextDouble());
+        return Math.min(index >= 0 ? index : -index - 1, cdf.length - 1);
+    }
+
+    public record Result(int accesses, long distinctKeys, Map<Integer, Map<String, Object>> bySize) {
+    }
+
+    private interface PolicyCache {
+        Object get(String key);
+
+        void put(String key);
+
+        long size();
+    }
+
+    private record MapPolicyCache(ConcurrentMap<String, Object> map) implements PolicyCache {
+
+        @Override
+        public Object get(String key) {
+            return map.get(key);
+        }
+
+        @Override
+        public void put(String key) {
+            map.put(key, VALUE);
+        }
+
+        @Override
+        public long size() {
+            return map.size();
+        }
+    }
+}
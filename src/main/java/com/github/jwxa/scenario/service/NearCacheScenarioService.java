@@ -1,10 +1,28 @@
 package com.github.jwxa.scenario.service;
 
+import com.github.jwxa.cache.BulkNearCacheMap;
+import com.github.jwxa.cache.ClusterSlots;
+import com.github.jwxa.cache.NegativeNearCacheMap;
+import com.github.jwxa.cache.OffHeapNearCacheMap;
+import com.github.jwxa.cache.ReplicaReadNearCacheMap;
+import com.github.jwxa.cache.ShardedNearCacheMap;
+import com.github.jwxa.cache.SlotAwareBulkRouter;
+import com.github.jwxa.cache.VersionedNearCacheMap;
+import com.github.jwxa.cache.VersionedValue;
+import com.github.jwxa.codec.CscCodecRegistry;
+import com.github.jwxa.codec.MeteredCodec;
+import com.github.jwxa.component.ClusterHealthMonitor;
+import com.github.jwxa.component.NearCacheConsistencyProber;
+import com.github.jwxa.component.ReplicationLagGuard;
+import com.github.jwxa.scenario.dto.BulkReadRequest;
+import com.github.jwxa.scenario.dto.BulkRoutingRequest;
 import com.github.jwxa.scenario.dto.ClientSideCachingWarmupRequest;
 import com.github.jwxa.scenario.dto.EventStormRequest;
+import com.github.jwxa.scenario.dto.EvictionComparisonRequest;
 import com.github.jwxa.scenario.dto.ExpirationVerificationRequest;
 import com.github.jwxa.scenario.dto.NearCacheInvalidationRequest;
 import com.github.jwxa.scenario.dto.NearCacheStatusRequest;
+import com.github.jwxa.scenario.dto.ShardedLayoutRequest;
 import com.github.jwxa.scenario.dto.StringChurnRequest;
 import com.github.jwxa.scenario.dto.TtlDriftRequest;
 import com.github.jwxa.scenario.model.ScenarioReport;
@@ -12,23 +30,29 @@ import com.github.jwxa.scenario.model.ScenarioStep;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.redisson.api.RBucket;
+import org.redisson.api.RClientSideCaching;
 import org.redisson.api.RMap;
 import org.redisson.api.RedissonClient;
-import org.redisson.api.ClusterNode;
-import org.redisson.api.ClusterNodesGroup;
-import org.redisson.api.Node;
-import org.redisson.api.NodeType;
+import org.redisson.api.options.ClientSideCachingOptions;
+import org.redisson.client.codec.StringCodec;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
 
 import java.lang.management.ManagementFactory;
 import java.lang.management.MemoryMXBean;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.IntSummaryStatistics;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeSet;
+import java.util.Set;
 import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Scenario workflows built on top of Redisson ClientSideCaching primitives.
@@ -38,13 +62,29 @@ import java.util.concurrent.TimeUnit;
 @Slf4j
 public class NearCacheScenarioService {
 
+    private static final String SINGLE_LAYOUT_NAME = "scenario:csc-layout:single";
+    private static final String SHARDED_LAYOUT_NAME = "scenario:csc-layout:sharded";
+
     private final RedissonClient redissonClient;
     private final RMap<String, String> scenarioClientSideCachingMap;
     private final RBucket<String> scenarioClientSideCachingBucket;
+    private final CscCodecRegistry codecRegistry;
+    private final ObjectProvider<OffHeapNearCacheMap> offHeapNearCache;
+    private final ObjectProvider<NegativeNearCacheMap> negativeNearCache;
+    private final ObjectProvider<BulkNearCacheMap> bulkNearCache;
+    private final ObjectProvider<ReplicaReadNearCacheMap> replicaReadNearCache;
+    private final ObjectProvider<ReplicationLagGuard> replicationLagGuard;
+    private final ObjectProvider<VersionedNearCacheMap> versionedNearCache;
+    private final ObjectProvider<NearCacheConsistencyProber> consistencyProber;
+    private final EventStormLoadEngine eventStormLoadEngine;
+    private final PipelinedBucketWriter pipelinedBucketWriter;
+    private final EvictionPolicySimulator evictionPolicySimulator;
+    private final SlotAwareBulkRouter slotAwareBulkRouter;
+    private final ClusterHealthMonitor clusterHealthMonitor;
 
     public ScenarioReport simulateNearCacheInvalidation(NearCacheInvalidationRequest request) {
         List<ScenarioStep> steps = new ArrayList<>();
-        RMap<String, String> remoteMap = redissonClient.getMap(scenarioClientSideCachingMap.getName());
+        RMap<String, String> remoteMap = remoteMap();
 
         scenarioClientSideCachingMap.put(request.key(), request.initialValue());
         steps.add(step("warm-local",
@@ -94,6 +134,13 @@ public class NearCacheScenarioService {
                 "Re-check consistency after optional extra wait to demonstrate eventual convergence",
                 finalObservation));
 
+        VersionedNearCacheMap versionedMap = versionedNearCache.getIfAvailable();
+        if (versionedMap != null) {
+            steps.add(step("versioned-check",
+                    "Detect a stale local hit through the per-slot version key instead of sleeping",
+                    versionedObservation(versionedMap, request)));
+        }
+
         log.info("[Scenario] invalidation -> key={} initial={} updated={} localAfter={}",
                 request.key(), request.initialValue(), request.updatedValue(), localAfter);
 
@@ -108,6 +155,33 @@ public class NearCacheScenarioService {
                 ));
     }
 
+    private Map<String, Object> versionedObservation(VersionedNearCacheMap versionedMap, NearCacheInvalidationRequest request) {
+        versionedMap.put(request.key(), request.initialValue());
+        versionedMap.get(request.key());
+        double staleBefore = versionedMap.staleReads();
+        long updatedVersion = versionedMap.put(request.key(), request.updatedValue());
+
+        // 写入后立即读取：CSC 本地可能还是旧信封，版本校验能当场识别出来
+        VersionedValue localEnvelope = versionedMap.peekLocal(request.key());
+        String verified = versionedMap.getVerified(request.key());
+
+        Map<String, Object> observation = new HashMap<>();
+        observation.put("mapName", versionedMap.getName());
+        observation.put("updatedVersion", updatedVersion);
+        observation.put("slotVersion", versionedMap.slotVersion(request.key()));
+        if (localEnvelope != null) {
+            observation.put("localVersion", localEnvelope.version());
+            observation.put("localValue", localEnvelope.value());
+        }
+        if (verified != null) {
+            observation.put("verifiedValue", verified);
+        }
+        observation.put("staleDetected", versionedMap.staleReads() > staleBefore);
+        observation.put("versionChecks", versionedMap.versionChecks());
+        observation.put("uncheckedHits", versionedMap.uncheckedHits());
+        return observation;
+    }
+
     public ScenarioReport simulateTtlDrift(TtlDriftRequest request) {
         List<ScenarioStep> steps = new ArrayList<>();
 
@@ -116,7 +190,7 @@ public class NearCacheScenarioService {
                 "Insert value through CSC map (local TTL controlled by CSC options)",
                 Map.of("local", scenarioClientSideCachingMap.get(request.key()))));
 
-        RMap<String, String> remoteMap = redissonClient.getMap(scenarioClientSideCachingMap.getName());
+        RMap<String, String> remoteMap = remoteMap();
         remoteMap.expire(request.redisTtlSeconds(), TimeUnit.SECONDS);
         steps.add(step("apply-redis-ttl",
                 "Set Redis map TTL to simulate faster expiration on the server side",
@@ -143,7 +217,7 @@ public class NearCacheScenarioService {
 
     public ScenarioReport warmupClientSideCaching(ClientSideCachingWarmupRequest request) {
         List<ScenarioStep> steps = new ArrayList<>();
-        RBucket<String> remoteBucket = redissonClient.getBucket(scenarioClientSideCachingBucket.getName());
+        RBucket<String> remoteBucket = remoteBucket();
 
         scenarioClientSideCachingBucket.set(request.initialValue(), request.ttlSeconds(), TimeUnit.SECONDS);
         steps.add(step("warmup-local",
@@ -226,16 +300,46 @@ public class NearCacheScenarioService {
 
     public ScenarioReport inspectNearCacheStatus(NearCacheStatusRequest request) {
         List<ScenarioStep> steps = new ArrayList<>();
-        RMap<String, String> remoteMap = redissonClient.getMap(scenarioClientSideCachingMap.getName());
+        RMap<String, String> remoteMap = remoteMap();
 
-        String localValue = scenarioClientSideCachingMap.get(request.key());
+        NegativeNearCacheMap negative = negativeNearCache.getIfAvailable();
+        boolean markedAbsentBefore = negative != null && negative.isMarkedAbsent(request.key());
+        String localValue = negative != null
+                ? negative.get(request.key())
+                : scenarioClientSideCachingMap.get(request.key());
         String remoteValue = remoteMap.get(request.key());
         Map<String, Object> observation = new HashMap<>();
         observation.put("key", request.key());
+        if (negative != null) {
+            // 命中标记时本次读取没有访问 Redis
+            observation.put("negativeHit", markedAbsentBefore);
+            observation.put("markedAbsent", negative.isMarkedAbsent(request.key()));
+            observation.put("markedAbsentKeys", negative.markedAbsentCount());
+        }
         observation.put("local", localValue);
         observation.put("remote", remoteValue);
         observation.put("localPresent", localValue != null);
         observation.put("remotePresent", remoteValue != null);
+        OffHeapNearCacheMap offHeap = offHeapNearCache.getIfAvailable();
+        if (offHeap != null) {
+            String offHeapValue = offHeap.peekLocal(request.key());
+            observation.put("offHeapPresent", offHeapValue != null);
+            if (offHeapValue != null) {
+                observation.put("offHeap", offHeapValue);
+            }
+            observation.put("offHeapEntries", offHeap.store().size());
+            observation.put("offHeapUsedBytes", offHeap.store().usedBytes());
+        }
+        ReplicaReadNearCacheMap replicaRead = replicaReadNearCache.getIfAvailable();
+        if (replicaRead != null) {
+            observation.put("readTarget", replicaRead.readsFromReplica() ? "replica" : "master");
+            observation.put("replicaRead", replicaRead.get(request.key()));
+        }
+        NearCacheConsistencyProber prober = consistencyProber.getIfAvailable();
+        if (prober != null) {
+            observation.put("sampledDivergenceRate", prober.divergenceRate());
+            observation.put("sampledMaxStalenessMillis", prober.maxStalenessMillis());
+        }
 
         steps.add(step("snapshot",
                 "Compare CSC local cache with Redis value for given key",
@@ -307,7 +411,27 @@ public class NearCacheScenarioService {
 
     public ScenarioReport simulateEventStorm(EventStormRequest request) {
         List<ScenarioStep> steps = new ArrayList<>();
-        RMap<String, String> remoteMap = redissonClient.getMap(scenarioClientSideCachingMap.getName());
+        RMap<String, String> remoteMap = remoteMap();
+
+        if (request.concurrent()) {
+            Map<String, Object> load = eventStormLoadEngine.run(request, scenarioClientSideCachingMap, remoteMap);
+            steps.add(step("concurrent-storm-executed",
+                    "Ran concurrent writers against remote map while readers hit the CSC local cache",
+                    load));
+            Map<String, Object> context = new HashMap<>();
+            context.put("mapName", scenarioClientSideCachingMap.getName());
+            context.put("mode", "concurrent");
+            context.put("durationMillis", request.durationMillis());
+            context.put("writeLatencyMicros", load.get("writeLatencyMicros"));
+            context.put("readLatencyMicros", load.get("readLatencyMicros"));
+            context.put("stalenessRate", load.get("stalenessRate"));
+            context.put("maxVersionLag", load.get("maxVersionLag"));
+            return new ScenarioReport(
+                    "event-storm-simulation",
+                    Instant.now(),
+                    steps,
+                    context);
+        }
 
         scenarioClientSideCachingMap.put(request.key(), request.initialValue());
         steps.add(step("warm-local",
@@ -358,10 +482,69 @@ public class NearCacheScenarioService {
             keys.add(request.prefix() + ":" + i);
         }
 
+        // string-churn 的 key 以 prefix 作为结构名选择 codec，可对比不同编码的字节数与耗时
+        MeteredCodec codec = codecRegistry.codecFor(request.prefix());
+        // codec 按结构名共享，指标是累计值，取本次运行前后的差值
+        MeteredCodec.EncodeStats encodeBefore = codec.encodeStats();
         String payload = generatePayload(request.payloadSize());
+
+        // 两种模式写同一组更新序列，吞吐才有可比性
+        List<Map.Entry<String, String>> updates = new ArrayList<>(request.iterations());
+        for (int i = 0; i < request.iterations(); i++) {
+            updates.add(Map.entry(keys.get(random.nextInt(keys.size())), payload + "-" + i));
+        }
+
+        Map<String, Object> throughput = new LinkedHashMap<>();
+        if (request.runsSync()) {
+            throughput.put("sync", runSyncChurn(request, keys, updates, payload, codec, memoryMXBean, steps));
+        }
+        if (request.runsBatched()) {
+            throughput.put("batched", runBatchedChurn(request, keys, updates, payload, codec, memoryMXBean, steps));
+        }
+        if (throughput.size() > 1) {
+            double syncOps = (double) ((Map<?, ?>) throughput.get("sync")).get("updateOpsPerSecond");
+            double batchedOps = (double) ((Map<?, ?>) throughput.get("batched")).get("updateOpsPerSecond");
+            throughput.put("batchedSpeedup", syncOps == 0 ? 0.0 : batchedOps / syncOps);
+        }
+        steps.add(step("throughput",
+                "Warmup and update throughput per write mode",
+                throughput));
+
+        long finalHeap = memoryMXBean.getHeapMemoryUsage().getUsed();
+        MeteredCodec.EncodeStats encodeAfter = codec.encodeStats();
+        steps.add(step("summary",
+                "Final heap usage snapshot and codec cost of this run",
+                Map.of(
+                        "heapUsed", finalHeap,
+                        "codec", codecRegistry.describe(request.prefix()),
+                        "encodes", encodeAfter.encodesSince(encodeBefore),
+                        "meanEncodedBytes", encodeAfter.meanValueBytesSince(encodeBefore),
+                        "meanEncodeMicros", encodeAfter.meanEncodeMicrosSince(encodeBefore)
+                )));
+
+        return new ScenarioReport(
+                "string-churn-simulation",
+                Instant.now(),
+                steps,
+                Map.of(
+                        "keyCount", request.keyCount(),
+                        "iterations", request.iterations(),
+                        "payloadSize", request.payloadSize(),
+                        "mode", request.mode().name(),
+                        "codec", codecRegistry.describe(request.prefix())
+                ));
+    }
+
+    private Map<String, Object> runSyncChurn(StringChurnRequest request,
+                                             List<String> keys,
+                                             List<Map.Entry<String, String>> updates,
+                                             String payload,
+                                             MeteredCodec codec,
+                                             MemoryMXBean memoryMXBean,
+                                             List<ScenarioStep> steps) {
         long warmupStart = System.nanoTime();
         for (String key : keys) {
-            redissonClient.getBucket(key).set(payload);
+            redissonClient.getBucket(key, codec).set(payload);
         }
         long warmupDuration = System.nanoTime() - warmupStart;
         steps.add(step("warmup",
@@ -375,18 +558,17 @@ public class NearCacheScenarioService {
 
         List<Map<String, Object>> samples = new ArrayList<>();
         long updatesStart = System.nanoTime();
-        int sampleEvery = Math.max(1, request.iterations() / 10);
-        for (int i = 0; i < request.iterations(); i++) {
-            String key = keys.get(random.nextInt(keys.size()));
-            String value = payload + "-" + i;
-            redissonClient.getBucket(key).set(value);
+        int sampleEvery = Math.max(1, updates.size() / 10);
+        for (int i = 0; i < updates.size(); i++) {
+            Map.Entry<String, String> update = updates.get(i);
+            redissonClient.getBucket(update.getKey(), codec).set(update.getValue());
             if (request.pauseMillis() > 0) {
                 waitQuietly(request.pauseMillis());
             }
-            if (i % sampleEvery == 0 || i == request.iterations() - 1) {
+            if (i % sampleEvery == 0 || i == updates.size() - 1) {
                 Map<String, Object> probe = new HashMap<>();
                 probe.put("iteration", i + 1);
-                probe.put("key", key);
+                probe.put("key", update.getKey());
                 probe.put("heapUsed", memoryMXBean.getHeapMemoryUsage().getUsed());
                 samples.add(probe);
             }
@@ -401,34 +583,363 @@ public class NearCacheScenarioService {
                         "samples", samples
                 )));
 
-        long finalHeap = memoryMXBean.getHeapMemoryUsage().getUsed();
+        return Map.of(
+                "warmupOpsPerSecond", opsPerSecond(keys.size(), warmupDuration),
+                "updateOpsPerSecond", opsPerSecond(updates.size(), updatesDuration),
+                "updateDurationMillis", updatesDuration / 1_000_000.0
+        );
+    }
+
+    /**
+     * 按 slot 分组的 RBatch 流水线写入；pauseMillis 在批量模式下不生效。
+     */
+    private Map<String, Object> runBatchedChurn(StringChurnRequest request,
+                                                List<String> keys,
+                                                List<Map.Entry<String, String>> updates,
+                                                String payload,
+                                                MeteredCodec codec,
+                                                MemoryMXBean memoryMXBean,
+                                                List<ScenarioStep> steps) {
+        List<Map.Entry<String, String>> warmupWrites = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            warmupWrites.add(Map.entry(key, payload));
+        }
+        PipelinedBucketWriter.Result warmup = pipelinedBucketWriter.write(
+                warmupWrites, codec, request.batchSize(), request.pipelineDepth());
+        steps.add(step("warmup-batched",
+                "Initial set of all keys through slot-grouped RBatch pipelines",
+                Map.of(
+                        "keyCount", request.keyCount(),
+                        "batches", warmup.batches(),
+                        "failedBatches", warmup.failedBatches(),
+                        "warmupDurationMillis", warmup.durationMillis(),
+                        "heapUsed", memoryMXBean.getHeapMemoryUsage().getUsed()
+                )));
+
+        PipelinedBucketWriter.Result churn = pipelinedBucketWriter.write(
+                updates, codec, request.batchSize(), request.pipelineDepth());
+        steps.add(step("churn-batched",
+                "Performed churning updates through slot-grouped RBatch pipelines",
+                Map.of(
+                        "iterations", request.iterations(),
+                        "batchSize", request.batchSize(),
+                        "pipelineDepth", request.pipelineDepth(),
+                        "batches", churn.batches(),
+                        "failedBatches", churn.failedBatches(),
+                        "durationMillis", churn.durationMillis(),
+                        "heapUsed", memoryMXBean.getHeapMemoryUsage().getUsed()
+                )));
+
+        return Map.of(
+                "warmupOpsPerSecond", warmup.opsPerSecond(),
+                "updateOpsPerSecond", churn.opsPerSecond(),
+                "updateDurationMillis", churn.durationMillis(),
+                "batchSize", request.batchSize(),
+                "pipelineDepth", request.pipelineDepth()
+        );
+    }
+
+    private double opsPerSecond(int operations, long durationNanos) {
+        return durationNanos == 0 ? 0.0 : operations * 1_000_000_000.0 / durationNanos;
+    }
+
+    /**
+     * 对比单 map 与分片 map 两种 CSC 布局：每次远端写入一个随机 key 后重读全部 key，
+     * 统计 tracking 通知清空的本地条目数，即失效导致的未命中。
+     */
+    public ScenarioReport compareShardedLayout(ShardedLayoutRequest request) {
+        List<ScenarioStep> steps = new ArrayList<>();
+        List<String> keys = new ArrayList<>(request.keyCount());
+        for (int i = 0; i < request.keyCount(); i++) {
+            keys.add("layout:key:" + i);
+        }
+        List<Integer> updateIndexes = new ArrayList<>(request.updates());
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int i = 0; i < request.updates(); i++) {
+            updateIndexes.add(random.nextInt(keys.size()));
+        }
+
+        Map<String, Object> single = runLayout(SINGLE_LAYOUT_NAME, 1, keys, updateIndexes, request.awaitMillis());
+        steps.add(step("single-map",
+                "Every remote write flushes the whole local map",
+                single));
+        Map<String, Object> sharded = runLayout(SHARDED_LAYOUT_NAME, request.shards(), keys, updateIndexes, request.awaitMillis());
+        steps.add(step("sharded-map",
+                "Remote writes only flush the shard that owns the key",
+                sharded));
+
+        double singleMissRate = (double) single.get("invalidationMissRate");
+        double shardedMissRate = (double) sharded.get("invalidationMissRate");
+        steps.add(step("comparison",
+                "Invalidation-induced miss rate per layout",
+                Map.of(
+                        "singleMissRate", singleMissRate,
+                        "shardedMissRate", shardedMissRate,
+                        "missRateReduction", singleMissRate == 0 ? 0.0 : 1 - shardedMissRate / singleMissRate
+                )));
+
+        return new ScenarioReport(
+                "sharded-layout-comparison",
+                Instant.now(),
+                steps,
+                Map.of(
+                        "keyCount", request.keyCount(),
+                        "shards", request.shards(),
+                        "updates", request.updates()
+                ));
+    }
+
+    private Map<String, Object> runLayout(String baseName,
+                                          int shardCount,
+                                          List<String> keys,
+                                          List<Integer> updateIndexes,
+                                          long awaitMillis) {
+        RClientSideCaching csc = redissonClient.getClientSideCaching(
+                ClientSideCachingOptions.defaults().size(keys.size() * 2));
+        ShardedNearCacheMap layout = new ShardedNearCacheMap(csc, baseName, shardCount, StringCodec.INSTANCE);
+        try {
+            int[] population = new int[shardCount];
+            for (String key : keys) {
+                population[layout.shardIndex(key)]++;
+                layout.put(key, "v0");
+            }
+            for (String key : keys) {
+                layout.get(key);
+            }
+
+            AtomicLong trackingEvents = new AtomicLong();
+            AtomicLong invalidatedEntries = new AtomicLong();
+            layout.addTrackingListener(shard -> {
+                trackingEvents.incrementAndGet();
+                invalidatedEntries.addAndGet(population[shard]);
+            });
+
+            long readNanos = 0;
+            long reads = 0;
+            for (int u = 0; u < updateIndexes.size(); u++) {
+                String key = keys.get(updateIndexes.get(u));
+                redissonClient.<String, String>getMap(layout.shardFor(key).getName(), StringCodec.INSTANCE)
+                        .fastPut(key, "v" + (u + 1));
+                waitQuietly(awaitMillis);
+                long start = System.nanoTime();
+                for (String k : keys) {
+                    layout.get(k);
+                }
+                readNanos += System.nanoTime() - start;
+                reads += keys.size();
+            }
+
+            Set<Integer> slots = new TreeSet<>();
+            layout.shards().forEach(shard -> slots.add(ClusterSlots.slotOf(shard.getName())));
+            IntSummaryStatistics perShard = Arrays.stream(population).summaryStatistics();
+            Map<String, Object> result = new HashMap<>();
+            result.put("shards", shardCount);
+            result.put("slots", slots);
+            result.put("minKeysPerShard", perShard.getMin());
+            result.put("maxKeysPerShard", perShard.getMax());
+            result.put("trackingEvents", trackingEvents.get());
+            result.put("invalidatedEntries", invalidatedEntries.get());
+            result.put("reads", reads);
+            result.put("invalidationMissRate", reads == 0 ? 0.0 : Math.min(1.0, (double) invalidatedEntries.get() / reads));
+            result.put("meanReadMicros", reads == 0 ? 0.0 : readNanos / 1_000.0 / reads);
+            return result;
+        } finally {
+            layout.delete();
+            csc.destroy();
+        }
+    }
+
+    /**
+     * 对比逐个 key 读取 CSC map 与 getAll 本地优先、只回源缺失 field 的批量读取。
+     */
+    public ScenarioReport compareBulkRead(BulkReadRequest request) {
+        BulkNearCacheMap bulk = bulkNearCache.getIfAvailable();
+        if (bulk == null) {
+            throw new IllegalStateException("near-cache.bulk.enabled must be true for the bulk-read scenario");
+        }
+        List<ScenarioStep> steps = new ArrayList<>();
+        RMap<String, String> remoteMap = remoteMap();
+        List<String> keys = new ArrayList<>(request.keyCount());
+        Map<String, String> seed = new HashMap<>();
+        for (int i = 0; i < request.keyCount() + request.extraKeys(); i++) {
+            String key = "bulk:key:" + i;
+            if (i < request.keyCount()) {
+                keys.add(key);
+            }
+            seed.put(key, "value-" + i);
+        }
+        List<String> extended = new ArrayList<>(seed.keySet());
+
+        // 远端写入触发 tracking 通知，清空 CSC 与 bulk 本地层，保证逐个读取从冷缓存开始
+        remoteMap.putAll(seed);
+        waitQuietly(request.awaitMillis());
+        long start = System.nanoTime();
+        int found = 0;
+        for (String key : keys) {
+            if (scenarioClientSideCachingMap.get(key) != null) {
+                found++;
+            }
+        }
+        steps.add(step("per-key-cold",
+                "Cold per-key reads pay one round-trip per key",
+                Map.of("keys", keys.size(), "found", found, "micros", micros(System.nanoTime() - start))));
+
+        remoteMap.putAll(seed);
+        waitQuietly(request.awaitMillis());
+        bulk.clearLocal();
+        steps.add(bulkRead("bulk-cold", "Cold getAll fetches every key with a single HMGET", bulk, keys));
+        steps.add(bulkRead("bulk-warm", "Warm getAll is answered entirely from the local tier", bulk, keys));
+        steps.add(bulkRead("bulk-partial",
+                "Only keys never read before are fetched, the rest are local hits", bulk, extended));
+
+        return new ScenarioReport(
+                "bulk-read-comparison",
+                Instant.now(),
+                steps,
+                Map.of(
+                        "mapName", bulk.getName(),
+                        "keyCount", request.keyCount(),
+                        "extraKeys", request.extraKeys()
+                ));
+    }
+
+    private ScenarioStep bulkRead(String code, String description, BulkNearCacheMap bulk, List<String> keys) {
+        int localBefore = bulk.countLocal(keys);
+        long start = System.nanoTime();
+        Map<String, String> values = bulk.getAll(keys);
+        long elapsed = System.nanoTime() - start;
+        return step(code, description, Map.of(
+                "keys", keys.size(),
+                "found", values.size(),
+                "localHits", localBefore,
+                "fetchedFromRedis", keys.size() - localBefore,
+                "micros", micros(elapsed)
+        ));
+    }
+
+    private long micros(long nanos) {
+        return TimeUnit.NANOSECONDS.toMicros(nanos);
+    }
+
+    /**
+     * 对比逐个 key 同步 GET 与按 slot 分到各 master、每个节点一个并行 RBatch 的批量读取，两种方式读同一组 key。
+     */
+    public ScenarioReport compareBulkRouting(BulkRoutingRequest request) {
+        List<ScenarioStep> steps = new ArrayList<>();
+        MeteredCodec codec = codecRegistry.codecFor(request.prefix());
+        // codec 按结构名共享，指标是累计值，取本次运行前后的差值
+        MeteredCodec.EncodeStats encodeBefore = codec.encodeStats();
+        String payload = generatePayload(request.payloadSize());
+        Map<String, String> seed = new LinkedHashMap<>();
+        for (int i = 0; i < request.keyCount(); i++) {
+            seed.put(request.prefix() + ":" + i, payload + "-" + i);
+        }
+        List<String> keys = new ArrayList<>(seed.keySet());
+
+        SlotAwareBulkRouter.Result<Integer> written = slotAwareBulkRouter.setAll(seed, codec);
+        Map<String, Integer> distribution = new LinkedHashMap<>();
+        slotAwareBulkRouter.group(keys, false).forEach((node, nodeKeys) -> distribution.put(node, nodeKeys.size()));
+        steps.add(step("seed",
+                "Seed keys through one pipelined batch per master",
+                Map.of(
+                        "keys", written.value(),
+                        "nodes", written.shards(),
+                        "keysPerNode", distribution,
+                        "retriedKeys", written.retriedKeys(),
+                        "micros", written.durationMicros()
+                )));
+
+        long naiveTotal = 0;
+        long routedTotal = 0;
+        int retried = 0;
+        for (int round = 1; round <= request.rounds(); round++) {
+            long start = System.nanoTime();
+            int naiveFound = 0;
+            for (String key : keys) {
+                if (redissonClient.getBucket(key, codec).get() != null) {
+                    naiveFound++;
+                }
+            }
+            long naiveMicros = micros(System.nanoTime() - start);
+            SlotAwareBulkRouter.Result<Map<String, String>> routed = slotAwareBulkRouter.getAll(keys, codec);
+            naiveTotal += naiveMicros;
+            routedTotal += routed.durationMicros();
+            retried += routed.retriedKeys();
+            steps.add(step("round-" + round,
+                    "Per-key GET round-trips versus parallel per-node batches",
+                    Map.of(
+                            "naiveFound", naiveFound,
+                            "naiveMicros", naiveMicros,
+                            "routedFound", routed.value().size(),
+                            "routedMicros", routed.durationMicros(),
+                            "nodes", routed.shards(),
+                            "retriedKeys", routed.retriedKeys()
+                    )));
+        }
+
+        double naiveMean = (double) naiveTotal / request.rounds();
+        double routedMean = (double) routedTotal / request.rounds();
         steps.add(step("summary",
-                "Final heap usage snapshot",
-                Map.of("heapUsed", finalHeap)));
+                "Mean latency per full read of the key set",
+                Map.of(
+                        "naiveMeanMicros", naiveMean,
+                        "routedMeanMicros", routedMean,
+                        "speedup", routedMean == 0 ? 0.0 : naiveMean / routedMean,
+                        "retriedKeys", retried
+                )));
 
         return new ScenarioReport(
-                "string-churn-simulation",
+                "bulk-routing-comparison",
                 Instant.now(),
                 steps,
                 Map.of(
+                        "prefix", request.prefix(),
                         "keyCount", request.keyCount(),
-                        "iterations", request.iterations(),
-                        "payloadSize", request.payloadSize()
+                        "rounds", request.rounds(),
+                        "codec", codecRegistry.describe(request.prefix())
+                ));
+    }
+
+    /**
+     * 用同一条访问序列回放各淘汰策略，按缓存容量分组输出命中率、吞吐与内存占用。
+     */
+    public ScenarioReport compareEvictionPolicies(EvictionComparisonRequest request) {
+        List<ScenarioStep> steps = new ArrayList<>();
+        EvictionPolicySimulator.Result result = evictionPolicySimulator.run(request);
+        steps.add(step("trace",
+                "Access trace replayed against every policy",
+                Map.of(
+                        "trace", request.trace().name(),
+                        "accesses", result.accesses(),
+                        "distinctKeys", result.distinctKeys()
+                )));
+        result.bySize().forEach((size, perPolicy) -> steps.add(step("size-" + size,
+                "Hit ratio, throughput and footprint per eviction policy",
+                perPolicy)));
+
+        return new ScenarioReport(
+                "eviction-policy-comparison",
+                Instant.now(),
+                steps,
+                Map.of(
+                        "trace", request.trace().name(),
+                        "cacheSizes", request.cacheSizes(),
+                        "policies", evictionPolicySimulator.policies()
                 ));
     }
 
     public ScenarioReport inspectClusterTopology() {
         List<ScenarioStep> steps = new ArrayList<>();
-        ClusterNodesGroup nodesGroup = redissonClient.getClusterNodesGroup();
+        ClusterHealthMonitor.Snapshot snapshot = clusterHealthMonitor.snapshot();
 
         List<Map<String, Object>> masters = new ArrayList<>();
-        nodesGroup.getNodes(NodeType.MASTER).forEach(node -> masters.add(extractNodeInfo(node)));
+        snapshot.nodesOfType("MASTER").forEach(node -> masters.add(extractNodeInfo(node)));
         steps.add(step("masters",
                 "Enumerate cluster master nodes",
                 Map.of("masters", masters)));
 
         List<Map<String, Object>> replicas = new ArrayList<>();
-        nodesGroup.getNodes(NodeType.SLAVE).forEach(node -> replicas.add(extractNodeInfo(node)));
+        snapshot.nodesOfType("SLAVE").forEach(node -> replicas.add(extractNodeInfo(node)));
         steps.add(step("replicas",
                 "Enumerate cluster replica nodes",
                 Map.of("replicas", replicas)));
@@ -439,16 +950,17 @@ public class NearCacheScenarioService {
                 steps,
                 Map.of(
                         "masterCount", masters.size(),
-                        "replicaCount", replicas.size()
+                        "replicaCount", replicas.size(),
+                        "snapshotAgeMillis", snapshot.ageMillis()
                 ));
     }
 
     public ScenarioReport inspectReplicaReadiness() {
         List<ScenarioStep> steps = new ArrayList<>();
-        ClusterNodesGroup nodesGroup = redissonClient.getClusterNodesGroup();
+        ClusterHealthMonitor.Snapshot snapshot = clusterHealthMonitor.snapshot();
 
         List<Map<String, Object>> replicaStatus = new ArrayList<>();
-        nodesGroup.getNodes(NodeType.SLAVE).forEach(node -> replicaStatus.add(extractNodeInfo(node)));
+        snapshot.nodesOfType("SLAVE").forEach(node -> replicaStatus.add(extractNodeInfo(node)));
         steps.add(step("replica-status",
                 "List replica nodes and health info",
                 Map.of("replicas", replicaStatus)));
@@ -459,6 +971,20 @@ public class NearCacheScenarioService {
                     Map.of()));
         }
 
+        ReplicationLagGuard guard = replicationLagGuard.getIfAvailable();
+        if (guard != null) {
+            ReplicationLagGuard.Snapshot lag = guard.snapshot();
+            Map<String, Object> observation = new HashMap<>();
+            observation.put("replicaReadsEnabled", guard.replicasUsable());
+            observation.put("blockedBy", lag.blockedBy());
+            observation.put("maxLagBytes", lag.maxLagBytes());
+            observation.put("checkAgeMillis", lag.ageMillis());
+            observation.put("masters", lag.masters());
+            steps.add(step("replication-lag",
+                    "Replication offsets per master and whether CSC miss reads go to replicas",
+                    observation));
+        }
+
         return new ScenarioReport(
                 "replica-readiness",
                 Instant.now(),
@@ -468,24 +994,44 @@ public class NearCacheScenarioService {
     }
 
 
-    private Map<String, Object> extractNodeInfo(ClusterNode node) {
+    /**
+     * 节点信息取自后台轮询的快照，不在场景线程里逐个访问节点。
+     */
+    private Map<String, Object> extractNodeInfo(ClusterHealthMonitor.NodeHealth node) {
         Map<String, Object> info = new HashMap<>();
-        info.put("address", node.getAddr().toString());
-        info.put("nodeType", node.getType().name());
+        info.put("address", node.address());
+        info.put("nodeType", node.nodeType());
         info.put("ping", node.ping());
-        try {
+        info.put("rttMicros", node.rttMicros());
+        if (node.clusterInfo() != null) {
             info.put("clusterInfo", node.clusterInfo());
-        } catch (Exception ignored) {
         }
-        try {
-            info.put("serverInfo", node.info(Node.InfoSection.SERVER));
-        } catch (Exception ignored) {
+        if (node.serverInfo() != null) {
+            info.put("serverInfo", node.serverInfo());
+        }
+        if (node.error() != null) {
+            info.put("error", node.error());
         }
         return info;
     }
 
+    /**
+     * 绕过 CSC 直接访问 Redis 的视图，必须与 CSC 视图使用同一个 codec。
+     */
+    private RMap<String, String> remoteMap() {
+        String name = scenarioClientSideCachingMap.getName();
+        return redissonClient.getMap(name, codecRegistry.codecFor(name));
+    }
+
+    private RBucket<String> remoteBucket() {
+        String name = scenarioClientSideCachingBucket.getName();
+        return redissonClient.getBucket(name, codecRegistry.codecFor(name));
+    }
+
     private ScenarioStep step(String code, String description, Map<String, Object> observations) {
-        return new ScenarioStep(code, description, observations);
+        ScenarioStep step = new ScenarioStep(code, description, observations);
+        ScenarioProgress.publish(step);
+        return step;
     }
 
     private String generatePayload(int size) {
@@ -0,0 +1,84 @@
+package com.github.jwxa.scenario.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.jwxa.scenario.dto.*;
+import com.github.jwxa.scenario.model.ScenarioReport;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Maps a scenario code plus loosely typed parameters onto the matching {@link NearCacheScenarioService} call.
+ * <p>
+ * 回放与后台任务共用；{@link #prepare} 立即完成参数转换与校验，返回的 Supplier 才真正执行场景。
+ */
+@Component
+@RequiredArgsConstructor
+public class ScenarioDispatcher {
+
+    private final NearCacheScenarioService scenarioService;
+    private final ObjectMapper objectMapper;
+
+    public ScenarioReport execute(String scenario, Map<String, Object> parameters) {
+        return prepare(scenario, parameters).get();
+    }
+
+    public Supplier<ScenarioReport> prepare(String scenario, Map<String, Object> parameters) {
+        return switch (scenario) {
+            case "invalidation" -> {
+                NearCacheInvalidationRequest request = convert(parameters, NearCacheInvalidationRequest.class);
+                yield () -> scenarioService.simulateNearCacheInvalidation(request);
+            }
+            case "ttl-drift" -> {
+                TtlDriftRequest request = convert(parameters, TtlDriftRequest.class);
+                yield () -> scenarioService.simulateTtlDrift(request);
+            }
+            case "near-cache-status" -> {
+                NearCacheStatusRequest request = convert(parameters, NearCacheStatusRequest.class);
+                yield () -> scenarioService.inspectNearCacheStatus(request);
+            }
+            case "csc-state" -> scenarioService::inspectClientSideCachingState;
+            case "csc-warmup" -> {
+                ClientSideCachingWarmupRequest request = convert(parameters, ClientSideCachingWarmupRequest.class);
+                yield () -> scenarioService.warmupClientSideCaching(request);
+            }
+            case "expire-policy" -> {
+                ExpirationVerificationRequest request = convert(parameters, ExpirationVerificationRequest.class);
+                yield () -> scenarioService.verifyExpirationPolicy(request);
+            }
+            case "event-storm" -> {
+                EventStormRequest request = convert(parameters, EventStormRequest.class);
+                yield () -> scenarioService.simulateEventStorm(request);
+            }
+            case "cluster-topology" -> scenarioService::inspectClusterTopology;
+            case "replica-readiness" -> scenarioService::inspectReplicaReadiness;
+            case "string-churn" -> {
+                StringChurnRequest request = convert(parameters, StringChurnRequest.class);
+                yield () -> scenarioService.simulateStringChurn(request);
+            }
+            case "sharded-layout" -> {
+                ShardedLayoutRequest request = convert(parameters, ShardedLayoutRequest.class);
+                yield () -> scenarioService.compareShardedLayout(request);
+            }
+            case "bulk-read" -> {
+                BulkReadRequest request = convert(parameters, BulkReadRequest.class);
+                yield () -> scenarioService.compareBulkRead(request);
+            }
+            case "bulk-routing" -> {
+                BulkRoutingRequest request = convert(parameters, BulkRoutingRequest.class);
+                yield () -> scenarioService.compareBulkRouting(request);
+            }
+            case "eviction-policies" -> {
+                EvictionComparisonRequest request = convert(parameters, EvictionComparisonRequest.class);
+                yield () -> scenarioService.compareEvictionPolicies(request);
+            }
+            default -> throw new IllegalArgumentException("Unsupported scenario: " + scenario);
+        };
+    }
+
+    private <T> T convert(Map<String, Object> parameters, Class<T> target) {
+        return objectMapper.convertValue(parameters == null ? Map.of() : parameters, target);
+    }
+}
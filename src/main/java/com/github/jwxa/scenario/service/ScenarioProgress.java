@@ -0,0 +1,41 @@
+package com.github.jwxa.scenario.service;
+
+import com.github.jwxa.scenario.model.ScenarioStep;
+
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Hands each scenario step to the listener bound to the running thread as soon as it is produced.
+ * <p>
+ * 后台任务在执行场景前通过 {@link #run} 绑定监听器，{@link NearCacheScenarioService} 每生成一个步骤就调用 {@link #publish}；
+ * 同步接口没有绑定监听器，publish 不做任何事。
+ */
+public final class ScenarioProgress {
+
+    private static final ThreadLocal<Consumer<ScenarioStep>> LISTENER = new ThreadLocal<>();
+
+    private ScenarioProgress() {
+    }
+
+    public static <T> T run(Consumer<ScenarioStep> listener, Supplier<T> body) {
+        Consumer<ScenarioStep> previous = LISTENER.get();
+        LISTENER.set(listener);
+        try {
+            return body.get();
+        } finally {
+            if (previous == null) {
+                LISTENER.remove();
+            } else {
+                LISTENER.set(previous);
+            }
+        }
+    }
+
+    static void publish(ScenarioStep step) {
+        Consumer<ScenarioStep> listener = LISTENER.get();
+        if (listener != null) {
+            listener.accept(step);
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.github.jwxa.service;
 
+import com.github.jwxa.config.CacheConfig;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 
@@ -9,7 +10,8 @@ import java.util.concurrent.atomic.AtomicInteger;
 public class DemoService {
     private final AtomicInteger counter = new AtomicInteger();
 
-    @Cacheable(cacheNames = "demoCache", key = "#key")
+    // sync = true 让并发未命中走 Cache#get(key, loader)，由 SingleFlightLoader 合并回源
+    @Cacheable(cacheNames = CacheConfig.DEMO_CACHE, key = "#key", sync = true)
     public String getData(String key) {
         // 模拟耗时查询
         return "value-" + key + "-" + counter.incrementAndGet();
@@ -1,15 +1,13 @@
 package com.github.jwxa.service;
 
+import com.github.jwxa.component.ClusterHealthMonitor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.redisson.api.ClusterNode;
-import org.redisson.api.ClusterNodesGroup;
-import org.redisson.api.NodeType;
-import org.redisson.api.RedissonClient;
 import org.springframework.stereotype.Service;
 
+import java.time.Instant;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -18,40 +16,41 @@ import java.util.List;
 @Slf4j
 public class RedisClusterAdminService {
 
-    private final RedissonClient redissonClient;
+    private final ClusterHealthMonitor clusterHealthMonitor;
     private final ShellService shellService;
 
     private static final String COMPOSE_FILE = "redis-cluster-compose.yml";
 
+    /**
+     * 返回后台轮询的最新快照，不在请求线程里访问 Redis。
+     */
     public ClusterStatus status() {
-        try {
-            ClusterNodesGroup group = redissonClient.getClusterNodesGroup();
-            List<NodeStatus> nodes = new ArrayList<>();
-            for (ClusterNode n : group.getNodes(NodeType.MASTER)) {
-                nodes.add(nodeStatus(n));
-            }
-            for (ClusterNode n : group.getNodes(NodeType.SLAVE)) {
-                nodes.add(nodeStatus(n));
-            }
-            long masterCount = nodes.stream().filter(ns -> "MASTER".equals(ns.getNodeType())).count();
-            long replicaCount = nodes.stream().filter(ns -> "SLAVE".equals(ns.getNodeType())).count();
-            return ClusterStatus.builder()
-                    .online(true)
-                    .masterCount((int) masterCount)
-                    .replicaCount((int) replicaCount)
-                    .nodes(nodes)
-                    .build();
-        } catch (Exception e) {
+        ClusterHealthMonitor.Snapshot snapshot = clusterHealthMonitor.snapshot();
+        if (snapshot.error() != null) {
             // When cluster is down or unreachable.
-            log.warn("Cluster status check failed: {}", e.getMessage());
             return ClusterStatus.builder()
                     .online(false)
                     .masterCount(0)
                     .replicaCount(0)
-                    .error(e.getClass().getSimpleName() + ": " + e.getMessage())
+                    .error(snapshot.error())
                     .nodes(List.of())
+                    .checkedAt(snapshot.checkedAt())
+                    .snapshotAgeMillis(snapshot.ageMillis())
                     .build();
         }
+        List<NodeStatus> nodes = new ArrayList<>();
+        for (ClusterHealthMonitor.NodeHealth node : snapshot.nodes()) {
+            nodes.add(new NodeStatus(node.address(), node.nodeType(), node.ping(), node.rttMicros(),
+                    node.rttHistoryMicros(), node.error()));
+        }
+        return ClusterStatus.builder()
+                .online(true)
+                .masterCount(snapshot.nodesOfType("MASTER").size())
+                .replicaCount(snapshot.nodesOfType("SLAVE").size())
+                .nodes(nodes)
+                .checkedAt(snapshot.checkedAt())
+                .snapshotAgeMillis(snapshot.ageMillis())
+                .build();
     }
 
     public ShellService.ExecResult start() {
@@ -64,18 +63,6 @@ public class RedisClusterAdminService {
         return shellService.dockerCompose(COMPOSE_FILE, "down");
     }
 
-    private NodeStatus nodeStatus(ClusterNode node) {
-        String addr = String.valueOf(node.getAddr());
-        String type = node.getType().name();
-        Object ping;
-        try {
-            ping = node.ping();
-        } catch (Exception e) {
-            ping = false;
-        }
-        return new NodeStatus(addr, type, ping);
-    }
-
     @Data
     @Builder
     public static class ClusterStatus {
@@ -84,6 +71,8 @@ public class RedisClusterAdminService {
         private int replicaCount;
         private List<NodeStatus> nodes;
         private String error;
+        private Instant checkedAt;
+        private long snapshotAgeMillis;
     }
 
     @Data
@@ -91,5 +80,8 @@ public class RedisClusterAdminService {
         private final String address;
         private final String nodeType;
         private final Object ping;
+        private final Long rttMicros;
+        private final List<Long> rttHistoryMicros;
+        private final String error;
     }
 }